@@ -0,0 +1,63 @@
+// A dataset loaded for the benchmarks, found under dataRoot in the layout of the inputs directory:
+// airports/<dataset>.csv, directions/<dataset>.csv, missions/<dataset>.in and weather.csv
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import planner.bench.PlannerFixture;
+
+public class DatasetFixture implements PlannerFixture {
+    private MyGraph graph;
+    private ArrayList<Mission> missions;
+    private SearchWorkspace workspace;
+
+    public static Path[] getSourcePaths(Path dataRoot, String dataset) {
+        return new Path[] {dataRoot.resolve("airports").resolve(dataset + ".csv"), dataRoot.resolve("directions").resolve(dataset + ".csv"), dataRoot.resolve("weather.csv")};
+    }
+
+    public static Path getMissionsPath(Path dataRoot, String dataset) {
+        return dataRoot.resolve("missions").resolve(dataset + ".in");
+    }
+
+    @Override
+    public Object loadCsv(Path dataRoot, String dataset) throws IOException {
+        return Main.createGraph(getSourcePaths(dataRoot, dataset), new PlannerOptions());
+    }
+
+    @Override
+    public void writeSnapshot(Path dataRoot, String dataset, Path snapshotPath) throws IOException {
+        Path[] sourcePaths = getSourcePaths(dataRoot, dataset);
+        NetworkSnapshot.write(snapshotPath, CsvLoader.loadNetwork(sourcePaths[0], sourcePaths[1]), CsvLoader.loadWeather(sourcePaths[2]), sourcePaths);
+    }
+
+    @Override
+    public Object loadSnapshot(Path dataRoot, String dataset, Path snapshotPath) throws IOException {
+        PlannerOptions options = new PlannerOptions();
+        options.snapshotPath = snapshotPath;
+        return Main.createGraph(getSourcePaths(dataRoot, dataset), options);
+    }
+
+    @Override
+    public void prepare(Path dataRoot, String dataset, String searchMode) throws IOException {
+        PlannerOptions options = PlannerOptions.parse(new String[] {"--search=" + searchMode}, 0);
+        this.graph = Main.createGraph(getSourcePaths(dataRoot, dataset), options);
+        this.missions = Mission.readMissions(getMissionsPath(dataRoot, dataset), this.graph.network);
+        this.workspace = new SearchWorkspace(this.graph);
+    }
+
+    @Override
+    public int getMissionCount() {
+        return this.missions.size();
+    }
+
+    @Override
+    public String solveTask1(int mission) {
+        Mission m = this.missions.get(mission);
+        return this.graph.findShortestPathTask1(m.airportOrigin, m.timeOrigin, m.airportDestination, this.workspace);
+    }
+
+    @Override
+    public String solveTask2(int mission) {
+        Mission m = this.missions.get(mission);
+        return this.graph.findShortestPathTask2(m.airportOrigin, m.timeOrigin, m.airportDestination, m.deadline, m.plane, this.workspace);
+    }
+}
@@ -0,0 +1,241 @@
+// Generate a synthetic dataset in the layout of the inputs directory, deterministic for a given seed:
+//     DatasetGenerator <output-dir> <dataset> <airport-count> [options]
+// writes <output-dir>/airports/<dataset>.csv, directions/<dataset>.csv, missions/<dataset>.in and weather.csv.
+// Airports are grouped into airfields scattered around the globe. Most directions stay in their airfield, some go to the nearest airfields
+// and the rest are long-haul, like the bundled datasets. Weather codes are uniform over all airfields and 6 hour slots of the horizon
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+public class DatasetGenerator {
+    private static final long FIRST_TIME = 1680296400L;  // First weather time of the bundled weather file
+
+    private int directionsPerAirport = 16;
+    private double longHaulShare = 0.1;  // Share of the directions going anywhere, the others stay in or near their airfield
+    private int airfieldSize = 10;  // Airports per airfield
+    private int weatherDays = 30;
+    private int missionCount = 100;
+    private int maxMissionDays = 10;  // Longest time between TimeOrigin and Deadline
+    private long seed = 1;
+    private String planeModel = "Orion III";
+
+    public static void main(String[] args) throws IOException {
+        DatasetGenerator generator = new DatasetGenerator();
+        for(int i = 3; i < args.length; i++) {
+            String value = args[i].substring(args[i].indexOf('=') + 1);
+            if(args[i].startsWith("--directions=")) {
+                generator.directionsPerAirport = Integer.parseInt(value);
+            }
+            else if(args[i].startsWith("--long-haul=")) {
+                generator.longHaulShare = Double.parseDouble(value);
+            }
+            else if(args[i].startsWith("--airfield-size=")) {
+                generator.airfieldSize = Integer.parseInt(value);
+            }
+            else if(args[i].startsWith("--weather-days=")) {
+                generator.weatherDays = Integer.parseInt(value);
+            }
+            else if(args[i].startsWith("--missions=")) {
+                generator.missionCount = Integer.parseInt(value);
+            }
+            else if(args[i].startsWith("--mission-days=")) {
+                generator.maxMissionDays = Integer.parseInt(value);
+            }
+            else if(args[i].startsWith("--seed=")) {
+                generator.seed = Long.parseLong(value);
+            }
+            else if(args[i].startsWith("--plane=")) {
+                generator.planeModel = value;
+            }
+            else {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+        }
+        generator.generate(Path.of(args[0]), args[1], Integer.parseInt(args[2]));
+    }
+
+    public void generate(Path outputPath, String dataset, int airportCount) throws IOException {
+        if(Plane.forModel(this.planeModel) == null) {
+            throw new IllegalArgumentException("Unexpected plane model: " + this.planeModel);
+        }
+        int slotCount = this.weatherDays * 4;
+        int missionSlots = Math.min(this.maxMissionDays * 4, slotCount - 1);
+        if(missionSlots < 1) {
+            throw new IllegalArgumentException("Weather horizon is too short for missions: " + this.weatherDays + " days");
+        }
+        Random random = new Random(this.seed);
+        int airfieldCount = Math.max(1, (airportCount + this.airfieldSize - 1) / this.airfieldSize);
+
+        // Airfield centers, avoiding the poles
+        double[] airfieldLatitudes = new double[airfieldCount];
+        double[] airfieldLongitudes = new double[airfieldCount];
+        for(int airfield = 0; airfield < airfieldCount; airfield++) {
+            airfieldLatitudes[airfield] = -55 + 125 * random.nextDouble();
+            airfieldLongitudes[airfield] = -180 + 360 * random.nextDouble();
+        }
+        int[][] nearestAirfields = findNearestAirfields(airfieldLatitudes, airfieldLongitudes, 4);
+
+        // Airports are spread around the center of their airfield, airport i belongs to airfield i / airfieldSize
+        double[] latitudes = new double[airportCount];
+        double[] longitudes = new double[airportCount];
+        Files.createDirectories(outputPath.resolve("airports"));
+        try(BufferedWriter output = Files.newBufferedWriter(outputPath.resolve("airports").resolve(dataset + ".csv"))) {
+            output.write("AirportCode,AirfieldName,Latitude,Longitude,ParkingCost\n");
+            for(int airport = 0; airport < airportCount; airport++) {
+                int airfield = airport / this.airfieldSize;
+                latitudes[airport] = Math.max(-85, Math.min(85, airfieldLatitudes[airfield] + 2 * random.nextGaussian()));
+                longitudes[airport] = wrapLongitude(airfieldLongitudes[airfield] + 2 * random.nextGaussian());
+                int parkingCost = 50 + random.nextInt(200);
+                output.write(getAirportCode(airport) + "," + getAirfieldName(airfield) + "," + String.format(Locale.ROOT, "%.6f,%.6f", latitudes[airport], longitudes[airport]) + "," + parkingCost + "\n");
+            }
+        }
+
+        // 60% of the directions stay in the airfield, the long-haul share goes anywhere and the rest to the nearest airfields
+        Files.createDirectories(outputPath.resolve("directions"));
+        try(BufferedWriter output = Files.newBufferedWriter(outputPath.resolve("directions").resolve(dataset + ".csv"))) {
+            output.write("from,to\n");
+            int[] targets = new int[this.directionsPerAirport];
+            for(int airport = 0; airport < airportCount; airport++) {
+                int airfield = airport / this.airfieldSize;
+                int targetCount = 0;
+                for(int attempt = 0; attempt < 4 * this.directionsPerAirport && targetCount < Math.min(this.directionsPerAirport, airportCount - 1); attempt++) {
+                    double kind = random.nextDouble();
+                    int target;
+                    if(kind < 0.6) {
+                        target = pickAirport(random, airfield, airportCount);
+                    }
+                    else if(kind < 1 - this.longHaulShare && nearestAirfields[airfield].length > 0) {
+                        target = pickAirport(random, nearestAirfields[airfield][random.nextInt(nearestAirfields[airfield].length)], airportCount);
+                    }
+                    else {
+                        target = random.nextInt(airportCount);
+                    }
+                    if(target == airport || contains(targets, targetCount, target)) {
+                        continue;
+                    }
+                    targets[targetCount++] = target;
+                    output.write(getAirportCode(airport) + "," + getAirportCode(target) + "\n");
+                }
+            }
+        }
+
+        // Weather of every airfield at every slot of the horizon
+        try(BufferedWriter output = Files.newBufferedWriter(outputPath.resolve("weather.csv"))) {
+            output.write("AirfieldName,Time,WeatherCode\n");
+            for(int airfield = 0; airfield < airfieldCount; airfield++) {
+                String airfieldName = getAirfieldName(airfield);
+                for(int slot = 0; slot < slotCount; slot++) {
+                    output.write(airfieldName + "," + (FIRST_TIME + slot * WeatherTable.SLOT_LENGTH) + "," + random.nextInt(32) + "\n");
+                }
+            }
+        }
+
+        // Missions start on a slot and end within the horizon, so that every flight lands on a reported time
+        Files.createDirectories(outputPath.resolve("missions"));
+        try(BufferedWriter output = Files.newBufferedWriter(outputPath.resolve("missions").resolve(dataset + ".in"))) {
+            output.write(this.planeModel + "\n");
+            for(int mission = 0; mission < this.missionCount && airportCount > 1; mission++) {
+                int airportOrigin = random.nextInt(airportCount);
+                int airportDestination = random.nextInt(airportCount - 1);
+                if(airportDestination >= airportOrigin) {
+                    airportDestination++;
+                }
+                int windowSlots = 1 + random.nextInt(missionSlots);
+                int startSlot = random.nextInt(slotCount - windowSlots);
+                long timeOrigin = FIRST_TIME + startSlot * WeatherTable.SLOT_LENGTH;
+                long deadline = timeOrigin + windowSlots * WeatherTable.SLOT_LENGTH;
+                output.write(getAirportCode(airportOrigin) + " " + getAirportCode(airportDestination) + " " + timeOrigin + " " + deadline + "\n");
+            }
+        }
+    }
+
+    // Random airport of an airfield
+    private int pickAirport(Random random, int airfield, int airportCount) {
+        int firstAirport = airfield * this.airfieldSize;
+        return firstAirport + random.nextInt(Math.min(this.airfieldSize, airportCount - firstAirport));
+    }
+
+    // The nearest airfields of every airfield, found in a grid of 10 by 10 degree cells around it
+    private static int[][] findNearestAirfields(double[] latitudes, double[] longitudes, int count) {
+        int airfieldCount = latitudes.length;
+        int[][] cells = new int[18 * 36][];
+        int[] cellSizes = new int[cells.length];
+        for(int airfield = 0; airfield < airfieldCount; airfield++) {
+            cellSizes[getCell(latitudes[airfield], longitudes[airfield])]++;
+        }
+        for(int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = new int[cellSizes[cell]];
+            cellSizes[cell] = 0;
+        }
+        for(int airfield = 0; airfield < airfieldCount; airfield++) {
+            int cell = getCell(latitudes[airfield], longitudes[airfield]);
+            cells[cell][cellSizes[cell]++] = airfield;
+        }
+
+        int[][] nearestAirfields = new int[airfieldCount][];
+        for(int airfield = 0; airfield < airfieldCount; airfield++) {
+            int cellRow = getCell(latitudes[airfield], longitudes[airfield]) / 36;
+            int cellColumn = getCell(latitudes[airfield], longitudes[airfield]) % 36;
+            int[] nearest = new int[count];
+            double[] nearestDistances = new double[count];
+            Arrays.fill(nearestDistances, Double.POSITIVE_INFINITY);
+            int nearestCount = 0;
+            for(int row = Math.max(0, cellRow - 1); row <= Math.min(17, cellRow + 1); row++) {
+                for(int column = cellColumn - 1; column <= cellColumn + 1; column++) {
+                    for(int other : cells[row * 36 + Math.floorMod(column, 36)]) {
+                        if(other == airfield) {
+                            continue;
+                        }
+                        double distance = Airport.calculateDistance(latitudes[airfield], longitudes[airfield], latitudes[other], longitudes[other]);
+                        // Insert into the sorted list of the nearest airfields found so far
+                        int position = Math.min(nearestCount, count - 1);
+                        if(distance >= nearestDistances[position]) {
+                            continue;
+                        }
+                        while(position > 0 && nearestDistances[position - 1] > distance) {
+                            nearest[position] = nearest[position - 1];
+                            nearestDistances[position] = nearestDistances[position - 1];
+                            position--;
+                        }
+                        nearest[position] = other;
+                        nearestDistances[position] = distance;
+                        nearestCount = Math.min(count, nearestCount + 1);
+                    }
+                }
+            }
+            nearestAirfields[airfield] = Arrays.copyOf(nearest, nearestCount);
+        }
+        return nearestAirfields;
+    }
+
+    private static int getCell(double latitude, double longitude) {
+        int row = Math.min(17, (int) ((latitude + 90) / 10));
+        int column = Math.min(35, (int) ((longitude + 180) / 10));
+        return row * 36 + column;
+    }
+
+    private static double wrapLongitude(double longitude) {
+        return longitude >= 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for(int i = 0; i < count; i++) {
+            if(values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getAirportCode(int airport) {
+        return String.format(Locale.ROOT, "G%06d", airport);
+    }
+
+    private static String getAirfieldName(int airfield) {
+        return String.format(Locale.ROOT, "F%05d", airfield);
+    }
+}
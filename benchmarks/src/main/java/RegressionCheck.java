@@ -0,0 +1,74 @@
+// Solve the missions of every dataset which has expected outputs and compare the results with them line by line:
+//     RegressionCheck <inputs-dir> <outputs-dir> [options]
+// The options are the optional arguments of Main, so the check can be repeated with every search mode and thread count.
+// Exits with status 1 if any dataset differs
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class RegressionCheck {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path inputsPath = Path.of(args[0]);
+        Path outputsPath = Path.of(args[1]);
+        PlannerOptions options = PlannerOptions.parse(args, 2);
+
+        ArrayList<String> datasets = new ArrayList<>();
+        try(Stream<Path> missionFiles = Files.list(inputsPath.resolve("missions"))) {
+            missionFiles.map(path -> path.getFileName().toString()).filter(name -> name.endsWith(".in")).sorted().forEach(name -> datasets.add(name.substring(0, name.length() - ".in".length())));
+        }
+
+        int failedCount = 0;
+        int checkedCount = 0;
+        for(String dataset : datasets) {
+            Path task1Path = outputsPath.resolve(dataset + "-Task1.out");
+            Path task2Path = outputsPath.resolve(dataset + "-Task2.out");
+            if(!Files.isRegularFile(task1Path) || !Files.isRegularFile(task2Path)) {
+                continue;
+            }
+
+            long startTime = System.nanoTime();
+            MyGraph graph = Main.createGraph(DatasetFixture.getSourcePaths(inputsPath, dataset), options);
+            ArrayList<Mission> missions = Mission.readMissions(DatasetFixture.getMissionsPath(inputsPath, dataset), graph.network);
+            String[] task1Results = new String[missions.size()];
+            String[] task2Results = new String[missions.size()];
+            new MissionRunner(graph, options.threadCount, options.virtualThreads).run(missions, task1Results, task2Results);
+            long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+            String task1Difference = compare(task1Results, Files.readAllLines(task1Path));
+            String task2Difference = compare(task2Results, Files.readAllLines(task2Path));
+            checkedCount++;
+            if(task1Difference == null && task2Difference == null) {
+                System.out.println("ok     " + dataset + " (" + missions.size() + " missions, " + elapsedMillis + " ms)");
+                continue;
+            }
+            failedCount++;
+            System.out.println("FAILED " + dataset);
+            if(task1Difference != null) {
+                System.out.println("    task 1: " + task1Difference);
+            }
+            if(task2Difference != null) {
+                System.out.println("    task 2: " + task2Difference);
+            }
+        }
+
+        System.out.println(checkedCount + " datasets checked, " + failedCount + " failed");
+        if(failedCount > 0 || checkedCount == 0) {
+            System.exit(1);
+        }
+    }
+
+    // Describe the first line which differs, null if the results match the expected lines
+    private static String compare(String[] results, List<String> expectedLines) {
+        for(int i = 0; i < Math.max(results.length, expectedLines.size()); i++) {
+            String result = i < results.length ? results[i] : "<missing>";
+            String expected = i < expectedLines.size() ? expectedLines.get(i) : "<missing>";
+            if(!result.equals(expected)) {
+                return "line " + (i + 1) + ": expected \"" + expected + "\", got \"" + result + "\"";
+            }
+        }
+        return null;
+    }
+}
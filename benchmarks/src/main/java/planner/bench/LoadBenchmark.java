@@ -0,0 +1,59 @@
+// Time to get a dataset ready for the missions: parsing the CSV files or mapping the binary snapshot, and setting up the graph
+package planner.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadBenchmark {
+    @Param({"TR-0", "EU-0", "AS-0", "INTER-0"})
+    public String dataset;
+
+    @Param("inputs")
+    public String dataRoot;
+
+    private PlannerFixture fixture;
+    private Path snapshotPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.fixture = PlannerFixture.create();
+        this.snapshotPath = Files.createTempFile("planner-" + this.dataset, ".snapshot");
+        this.fixture.writeSnapshot(Path.of(this.dataRoot), this.dataset, this.snapshotPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.snapshotPath);
+    }
+
+    @Benchmark
+    public Object csv() throws IOException {
+        return this.fixture.loadCsv(Path.of(this.dataRoot), this.dataset);
+    }
+
+    @Benchmark
+    public Object snapshot() throws IOException {
+        return this.fixture.loadSnapshot(Path.of(this.dataRoot), this.dataset, this.snapshotPath);
+    }
+}
@@ -0,0 +1,64 @@
+// Latency of a single mission of task 1 and task 2. Every invocation solves the next mission of the dataset, so a score is the average over its missions.
+// Run with "-prof gc" for the allocation rate and with "-bm sample" for latency percentiles
+package planner.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MissionBenchmark {
+    @Param({"TR-0", "EU-0", "AS-0", "INTER-0"})
+    public String dataset;
+
+    @Param({"dijkstra", "astar", "landmarks"})
+    public String search;
+
+    @Param("inputs")
+    public String dataRoot;  // Directory in the layout of the inputs directory, e.g. the output directory of DatasetGenerator
+
+    private PlannerFixture fixture;
+    private int nextMission;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.fixture = PlannerFixture.create();
+        this.fixture.prepare(Path.of(this.dataRoot), this.dataset, this.search);
+        if(this.fixture.getMissionCount() == 0) {
+            throw new IllegalStateException("Dataset has no missions: " + this.dataset);
+        }
+    }
+
+    @Benchmark
+    public String task1() {
+        return this.fixture.solveTask1(nextMission());
+    }
+
+    @Benchmark
+    public String task2() {
+        return this.fixture.solveTask2(nextMission());
+    }
+
+    private int nextMission() {
+        int mission = this.nextMission;
+        this.nextMission = mission + 1 == this.fixture.getMissionCount() ? 0 : mission + 1;
+        return mission;
+    }
+}
@@ -0,0 +1,36 @@
+// JMH does not accept benchmarks in the unnamed package, and classes of a named package cannot refer to the planner classes which are all in it.
+// The benchmarks therefore call the planner through this interface, implemented by "DatasetFixture" in the unnamed package
+package planner.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface PlannerFixture {
+    // Load the CSV files of a dataset and set up the graph, returns the graph
+    Object loadCsv(Path dataRoot, String dataset) throws IOException;
+
+    // Write the binary snapshot of a dataset
+    void writeSnapshot(Path dataRoot, String dataset, Path snapshotPath) throws IOException;
+
+    // Load a dataset from its binary snapshot and set up the graph, returns the graph
+    Object loadSnapshot(Path dataRoot, String dataset, Path snapshotPath) throws IOException;
+
+    // Load a dataset and its missions to be solved with solveTask1 and solveTask2, searchMode is dijkstra, astar or landmarks
+    void prepare(Path dataRoot, String dataset, String searchMode) throws IOException;
+
+    int getMissionCount();
+
+    // Solve task 1 of a mission with a plain search, without the shared shortest path tree cache
+    String solveTask1(int mission);
+
+    String solveTask2(int mission);
+
+    static PlannerFixture create() {
+        try {
+            return (PlannerFixture) Class.forName("DatasetFixture").getConstructor().newInstance();
+        }
+        catch(ReflectiveOperationException e) {
+            throw new IllegalStateException("DatasetFixture is not on the classpath", e);
+        }
+    }
+}
@@ -1,66 +1,5 @@
-// Create airport objects which will be used as nodes in "MyGraph"
-import java.util.ArrayList;
-import java.util.LinkedList;
-
-public class Airport implements Comparable<Airport> {
-    // Airport features
-    public String airportCode;  // A unique identifier for the airport
-    public String airfieldName;  // Name of the airfield which the airport belongs
-    public double latitude;
-    public double longitude;
-    public int parkingCost;  // The cost of parking at the airport for 6 hours
-
-    // Adjacency list, the airports where planes go to from this airport. Will be used to find the shortest path.
-    public ArrayList<Airport> neighborAirports;
-
-    // Keep note of the shortest path from a source airport to this airport
-    public LinkedList<Airport> shortestPath;
-
-    // Cost of this airport node
-    public double cost;
-
-    // Current time at this airport, used for Task-2
-    long currentTime;
-
-    // Dummy airport object that will be used as a reference to the original airport object
-    public Airport(String airportCode, long currentTime, double cost) {
-        this.airportCode = airportCode;
-        this.currentTime = currentTime;
-        this.cost = cost;
-
-        this.shortestPath = new LinkedList<>();
-    }
-
-    public Airport(String airportCode, String airfieldName, double latitude, double longitude, int parkingCost) {
-        this.airportCode = airportCode;
-        this.airfieldName = airfieldName;
-        this.latitude = latitude;
-        this.longitude = longitude;
-        this.parkingCost = parkingCost;
-
-        this.neighborAirports = new ArrayList<>();
-        this.shortestPath = new LinkedList<>();
-        this.cost = Double.MAX_VALUE;
-
-        this.currentTime = 0;
-    }
-
-    public void add(Airport neighborAirport) {
-        this.neighborAirports.add(neighborAirport);
-    }
-
-    public int compareTo(Airport otherAirport) {
-        if(this.cost > otherAirport.cost)
-            return 1;
-        else if(this.cost < otherAirport.cost)
-            return -1;
-        else
-            return 0;
-    }
-
-
-    // Static methods for various calculations
-
+// Flight cost calculations between airports. The airports themselves are stored by id in the "RouteNetwork"
+public class Airport {
     // Calculate the distance between 2 airports in kms using the Haversine Formula
     public static double calculateDistance(double latitude1, double longitude1, double latitude2, double longitude2) {
         int r = 6371;  // Radius of the Earth in km
@@ -73,22 +12,13 @@ public class Airport implements Comparable<Airport> {
     }
 
     // Calculate weatherMultiplier from a given weatherCode. Represent the effects of weather conditions on the cost of flight from an airport to another one
+    // Bits of the 5-bit weatherCode from the most significant one are wind, rain, snow, hail and bolt
     public static double calculateWeatherMultiplier(int weatherCode) {
-        String weatherCodeString = convertToBinary(weatherCode);
-        int[] weatherCodeArray = new int[5];
-        int padding = 5 - weatherCodeString.length();
-        for(int i = 0; i < weatherCodeString.length(); i++) {
-            weatherCodeArray[padding + i] = weatherCodeString.charAt(i) - '0';
-        }
-        return (weatherCodeArray[0] * 1.05 + (1 - weatherCodeArray[0])) * (weatherCodeArray[1] * 1.05 + (1 - weatherCodeArray[1])) * (weatherCodeArray[2] * 1.10 + (1 - weatherCodeArray[2])) * (weatherCodeArray[3] * 1.15 + (1 - weatherCodeArray[3])) * (weatherCodeArray[4] * 1.20 + (1 - weatherCodeArray[4]));
+        int wind = (weatherCode >> 4) & 1;
+        int rain = (weatherCode >> 3) & 1;
+        int snow = (weatherCode >> 2) & 1;
+        int hail = (weatherCode >> 1) & 1;
+        int bolt = weatherCode & 1;
+        return (wind * 1.05 + (1 - wind)) * (rain * 1.05 + (1 - rain)) * (snow * 1.10 + (1 - snow)) * (hail * 1.15 + (1 - hail)) * (bolt * 1.20 + (1 - bolt));
     }
-
-    // Convert an integer to its binary representation in String format
-    private static String convertToBinary(int weatherCode) {
-        if(weatherCode == 0) {
-            return "";
-        }
-        return convertToBinary(weatherCode / 2) + (weatherCode % 2);
-    }
-
 }
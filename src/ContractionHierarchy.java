@@ -0,0 +1,240 @@
+// Customizable contraction hierarchy of the route network for Task 1. The airports are ranked once by eliminating the airport with the least
+// remaining neighbors first, and the neighbors of every eliminated airport are connected to each other by shortcut arcs. This only depends on
+// the directions, so it is built once, while the costs of the arcs are calculated per weather slot by "customize".
+// Every arc connects a lower ranked airport to a higher ranked one and is stored once, at its lower airport, with a cost for each direction
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+public class ContractionHierarchy {
+    // Largest number of arcs a hierarchy is built with, networks without small separators need too many shortcuts to be worth it
+    public static final int MAX_ARC_COUNT = 1 << 24;
+
+    private final RouteNetwork network;
+    public final int[] ranks;  // Elimination rank of every airport
+
+    // Arcs from airport i to its higher ranked neighbors are arcOffsets[i] ... arcOffsets[i + 1] - 1, in increasing rank of their higher airport
+    public final int[] arcOffsets;
+    public final int[] arcLowerAirports;
+    public final int[] arcHigherAirports;
+
+    // Lowest ranked higher neighbor of every airport, -1 for the top airports. The higher neighbors of an airport are all on this chain,
+    // so the upward search space of an airport is its chain of parents (elimination tree)
+    public final int[] eliminationParents;
+
+    private ContractionHierarchy(RouteNetwork network, int[] ranks, int[] arcOffsets, int[] arcLowerAirports, int[] arcHigherAirports, int[] eliminationParents) {
+        this.network = network;
+        this.ranks = ranks;
+        this.arcOffsets = arcOffsets;
+        this.arcLowerAirports = arcLowerAirports;
+        this.arcHigherAirports = arcHigherAirports;
+        this.eliminationParents = eliminationParents;
+    }
+
+    public int getArcCount() {
+        return this.arcHigherAirports.length;
+    }
+
+    // Rank the airports by minimum degree elimination on the undirected network and add the shortcut arcs between the neighbors
+    public static ContractionHierarchy build(RouteNetwork network) {
+        int airportCount = network.airportCount;
+
+        // Undirected neighbors of the airports which are not eliminated yet
+        int[][] neighbors = new int[airportCount][];
+        int[] neighborCounts = new int[airportCount];
+        int[] marks = new int[airportCount];
+        Arrays.fill(marks, -1);
+        for(int airport = 0; airport < airportCount; airport++) {
+            neighbors[airport] = new int[4];
+        }
+        for(int airport = 0; airport < airportCount; airport++) {
+            for(int edge = network.edgeOffsets[airport]; edge < network.edgeOffsets[airport + 1]; edge++) {
+                addNeighbor(neighbors, neighborCounts, airport, network.edgeTargets[edge]);
+            }
+            for(int reverseEdge = network.reverseEdgeOffsets[airport]; reverseEdge < network.reverseEdgeOffsets[airport + 1]; reverseEdge++) {
+                addNeighbor(neighbors, neighborCounts, airport, network.reverseEdgeSources[reverseEdge]);
+            }
+        }
+        for(int airport = 0; airport < airportCount; airport++) {  // Remove duplicate directions and self loops
+            int count = 0;
+            marks[airport] = airport;
+            for(int i = 0; i < neighborCounts[airport]; i++) {
+                int neighbor = neighbors[airport][i];
+                if(marks[neighbor] != airport) {
+                    marks[neighbor] = airport;
+                    neighbors[airport][count++] = neighbor;
+                }
+            }
+            neighborCounts[airport] = count;
+        }
+        Arrays.fill(marks, -1);
+
+        // Heap of (degree, airport) pairs, a pair is outdated if the degree of the airport changed since it was added
+        PriorityQueue<Long> minDegreeHeap = new PriorityQueue<>();
+        for(int airport = 0; airport < airportCount; airport++) {
+            minDegreeHeap.add(((long) neighborCounts[airport] << 32) | airport);
+        }
+
+        int[] ranks = new int[airportCount];
+        Arrays.fill(ranks, -1);
+        int[][] higherNeighbors = new int[airportCount][];
+        long arcCount = 0;
+        long shortcutCount = 0;  // Every shortcut is added to the neighbors of both of its airports and becomes one arc
+        int rank = 0;
+        while(!minDegreeHeap.isEmpty()) {
+            long entry = minDegreeHeap.poll();
+            int airport = (int) entry;
+            if(ranks[airport] != -1 || (int) (entry >>> 32) != neighborCounts[airport]) {
+                continue;
+            }
+            ranks[airport] = rank++;
+            int degree = neighborCounts[airport];
+            higherNeighbors[airport] = Arrays.copyOf(neighbors[airport], degree);
+            arcCount += degree;
+            if(arcCount + shortcutCount / 2 > MAX_ARC_COUNT) {
+                throw new IllegalStateException("Contraction hierarchy of the network needs more than " + MAX_ARC_COUNT + " arcs, use --task1-engine=dijkstra");
+            }
+
+            // Connect the remaining neighbors to each other and remove the eliminated airport from them.
+            // marks[a] == n means airport a is already a neighbor of n, eliminated airports are never added again
+            for(int i = 0; i < degree; i++) {
+                int neighbor = higherNeighbors[airport][i];
+                int count = 0;
+                for(int j = 0; j < neighborCounts[neighbor]; j++) {
+                    int other = neighbors[neighbor][j];
+                    if(other != airport) {
+                        neighbors[neighbor][count++] = other;
+                        marks[other] = neighbor;
+                    }
+                }
+                neighborCounts[neighbor] = count;
+                for(int j = 0; j < degree; j++) {
+                    int other = higherNeighbors[airport][j];
+                    if(other != neighbor && marks[other] != neighbor) {
+                        marks[other] = neighbor;
+                        addNeighbor(neighbors, neighborCounts, neighbor, other);
+                        shortcutCount++;
+                    }
+                }
+                minDegreeHeap.add(((long) neighborCounts[neighbor] << 32) | neighbor);
+            }
+            neighbors[airport] = null;
+        }
+
+        int[] arcOffsets = new int[airportCount + 1];
+        int[] arcLowerAirports = new int[(int) arcCount];
+        int[] arcHigherAirports = new int[(int) arcCount];
+        int[] eliminationParents = new int[airportCount];
+        for(int airport = 0; airport < airportCount; airport++) {
+            int[] higher = higherNeighbors[airport];
+            Integer[] sorted = new Integer[higher.length];
+            for(int i = 0; i < higher.length; i++) {
+                sorted[i] = higher[i];
+            }
+            Arrays.sort(sorted, (a, b) -> Integer.compare(ranks[a], ranks[b]));
+            arcOffsets[airport + 1] = arcOffsets[airport] + higher.length;
+            for(int i = 0; i < higher.length; i++) {
+                arcLowerAirports[arcOffsets[airport] + i] = airport;
+                arcHigherAirports[arcOffsets[airport] + i] = sorted[i];
+            }
+            eliminationParents[airport] = higher.length == 0 ? -1 : sorted[0];
+        }
+        return new ContractionHierarchy(network, ranks, arcOffsets, arcLowerAirports, arcHigherAirports, eliminationParents);
+    }
+
+    private static void addNeighbor(int[][] neighbors, int[] neighborCounts, int airport, int neighbor) {
+        if(neighborCounts[airport] == neighbors[airport].length) {
+            neighbors[airport] = Arrays.copyOf(neighbors[airport], neighborCounts[airport] * 2);
+        }
+        neighbors[airport][neighborCounts[airport]++] = neighbor;
+    }
+
+    // Get the arc between a lower ranked airport and a higher ranked one, -1 if there is none
+    public int findArc(int lowerAirport, int higherAirport) {
+        int low = this.arcOffsets[lowerAirport];
+        int high = this.arcOffsets[lowerAirport + 1] - 1;
+        int rank = this.ranks[higherAirport];
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleRank = this.ranks[this.arcHigherAirports[middle]];
+            if(middleRank < rank) {
+                low = middle + 1;
+            }
+            else if(middleRank > rank) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    // Calculate the costs of the arcs with all flights happening at a weather slot, null if an airport with directions has no weather at the slot.
+    // The directions give the costs of the arcs they form, then the airports are visited from the lowest rank and every pair of their higher
+    // neighbors is improved by the path through them (lower triangles). A shortcut keeps the airport it goes through to be unpacked later
+    public ContractionHierarchyMetric customize(WeatherTable weather, int[] airportAirfields, int slot) {
+        RouteNetwork network = this.network;
+        int arcCount = getArcCount();
+        ContractionHierarchyMetric metric = new ContractionHierarchyMetric(slot, arcCount);
+        double[] upCosts = metric.upCosts;
+        double[] downCosts = metric.downCosts;
+
+        for(int airport = 0; airport < network.airportCount; airport++) {
+            if(network.edgeOffsets[airport] == network.edgeOffsets[airport + 1]) {
+                continue;
+            }
+            double departedWeatherMultiplier = weather.getMultiplierOrNaN(airportAirfields[airport], slot);
+            for(int edge = network.edgeOffsets[airport]; edge < network.edgeOffsets[airport + 1]; edge++) {
+                int neighborAirport = network.edgeTargets[edge];
+                if(neighborAirport == airport) {
+                    continue;
+                }
+                double landingWeatherMultiplier = weather.getMultiplierOrNaN(airportAirfields[neighborAirport], slot);
+                if(Double.isNaN(departedWeatherMultiplier) || Double.isNaN(landingWeatherMultiplier)) {
+                    return null;
+                }
+                double edgeCost = Airport.calculateFlightCost(departedWeatherMultiplier, landingWeatherMultiplier, network.edgeDistances[edge]);
+                if(this.ranks[airport] < this.ranks[neighborAirport]) {
+                    int arc = findArc(airport, neighborAirport);
+                    upCosts[arc] = Math.min(upCosts[arc], edgeCost);
+                }
+                else {
+                    int arc = findArc(neighborAirport, airport);
+                    downCosts[arc] = Math.min(downCosts[arc], edgeCost);
+                }
+            }
+        }
+
+        int[] order = new int[network.airportCount];
+        for(int airport = 0; airport < network.airportCount; airport++) {
+            order[this.ranks[airport]] = airport;
+        }
+        int[] arcsOfLower = new int[network.airportCount];  // Arc from the lower airport of the pair to every higher neighbor, valid while marked
+        Arrays.fill(arcsOfLower, -1);
+        for(int airport : order) {
+            for(int i = this.arcOffsets[airport]; i < this.arcOffsets[airport + 1]; i++) {
+                int lower = this.arcHigherAirports[i];
+                for(int arc = this.arcOffsets[lower]; arc < this.arcOffsets[lower + 1]; arc++) {
+                    arcsOfLower[this.arcHigherAirports[arc]] = arc;
+                }
+                for(int j = i + 1; j < this.arcOffsets[airport + 1]; j++) {
+                    int arc = arcsOfLower[this.arcHigherAirports[j]];  // Arc from lower to the higher neighbor of arc j, added while eliminating airport
+                    double upCost = downCosts[i] + upCosts[j];
+                    if(upCost < upCosts[arc]) {
+                        upCosts[arc] = upCost;
+                        metric.upMiddles[arc] = airport;
+                    }
+                    double downCost = downCosts[j] + upCosts[i];
+                    if(downCost < downCosts[arc]) {
+                        downCosts[arc] = downCost;
+                        metric.downMiddles[arc] = airport;
+                    }
+                }
+                for(int arc = this.arcOffsets[lower]; arc < this.arcOffsets[lower + 1]; arc++) {
+                    arcsOfLower[this.arcHigherAirports[arc]] = -1;
+                }
+            }
+        }
+        return metric;
+    }
+}
@@ -0,0 +1,32 @@
+// Costs of the arcs of a "ContractionHierarchy" with all flights happening at one weather slot, calculated by its customization.
+// A direction of an arc is either a direction of the network or a shortcut through a lower ranked airport, whose two halves are arcs as well
+import java.util.Arrays;
+
+public class ContractionHierarchyMetric {
+    public final int slot;
+
+    // Cost from the lower to the higher airport of every arc and back, infinite if there is no such path
+    public final double[] upCosts;
+    public final double[] downCosts;
+
+    // Airport a shortcut goes through, -1 for the directions of the network
+    public final int[] upMiddles;
+    public final int[] downMiddles;
+
+    public ContractionHierarchyMetric(int slot, int arcCount) {
+        this.slot = slot;
+        this.upCosts = new double[arcCount];
+        this.downCosts = new double[arcCount];
+        this.upMiddles = new int[arcCount];
+        this.downMiddles = new int[arcCount];
+        Arrays.fill(this.upCosts, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.downCosts, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.upMiddles, -1);
+        Arrays.fill(this.downMiddles, -1);
+    }
+
+    // Approximate memory used by a metric of a hierarchy with the given number of arcs
+    public static long getSizeInBytes(int arcCount) {
+        return 128 + 24L * arcCount;
+    }
+}
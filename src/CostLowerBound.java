@@ -0,0 +1,124 @@
+// Lower bounds of the remaining flight cost from an airport to a destination, used to direct the searches towards the destination (A*)
+// Every flight costs at least its great-circle distance plus 300 * (minimum weatherMultiplier)^2, which gives an admissible and consistent heuristic.
+// Landmark (ALT) bounds use precomputed lower bound distances from and to a few landmark airports and the triangle inequality
+import java.util.Arrays;
+
+public class CostLowerBound {
+    public enum Mode { DIJKSTRA, GREAT_CIRCLE, LANDMARKS }
+
+    // Bounds are scaled down slightly so that floating point errors can not make them exceed the real costs
+    private static final double SAFETY_FACTOR = 1 - 1e-9;
+
+    public final Mode mode;
+    private final RouteNetwork network;
+    private final double minimumFlightCost;  // Least possible weather part of a flight cost
+
+    // Lower bound distance from landmark l to airport v is stored at fromLandmarks[l * airportCount + v], to landmark at toLandmarks
+    public final int[] landmarks;
+    private final double[] fromLandmarks;
+    private final double[] toLandmarks;
+
+    public CostLowerBound(RouteNetwork network, Mode mode, int landmarkCount) {
+        this.mode = mode;
+        this.network = network;
+        this.minimumFlightCost = Airport.calculateFlightCost(WeatherTable.MINIMUM_MULTIPLIER, WeatherTable.MINIMUM_MULTIPLIER, 0);
+
+        if(mode != Mode.LANDMARKS || network.airportCount == 0) {
+            this.landmarks = new int[0];
+            this.fromLandmarks = new double[0];
+            this.toLandmarks = new double[0];
+            return;
+        }
+
+        // Reverse the directions to find the distances to the landmarks
+        int airportCount = network.airportCount;
+        double[] reverseDistances = new double[network.getEdgeCount()];
+        for(int reverseEdge = 0; reverseEdge < reverseDistances.length; reverseEdge++) {
+            reverseDistances[reverseEdge] = network.edgeDistances[network.reverseEdges[reverseEdge]];
+        }
+
+        // Choose the landmarks one by one as the airport farthest from the landmarks chosen so far
+        landmarkCount = Math.min(landmarkCount, airportCount);
+        this.landmarks = new int[landmarkCount];
+        this.fromLandmarks = new double[landmarkCount * airportCount];
+        this.toLandmarks = new double[landmarkCount * airportCount];
+        double[] closestLandmarkDistances = findDistances(0, network.edgeOffsets, network.edgeTargets, network.edgeDistances);
+        for(int i = 0; i < landmarkCount; i++) {
+            int landmark = 0;
+            double farthestDistance = -1;
+            for(int airport = 0; airport < airportCount; airport++) {
+                double distance = closestLandmarkDistances[airport];
+                if(distance != Double.POSITIVE_INFINITY && distance > farthestDistance) {
+                    landmark = airport;
+                    farthestDistance = distance;
+                }
+            }
+            this.landmarks[i] = landmark;
+
+            double[] fromDistances = findDistances(landmark, network.edgeOffsets, network.edgeTargets, network.edgeDistances);
+            double[] toDistances = findDistances(landmark, network.reverseEdgeOffsets, network.reverseEdgeSources, reverseDistances);
+            System.arraycopy(fromDistances, 0, this.fromLandmarks, i * airportCount, airportCount);
+            System.arraycopy(toDistances, 0, this.toLandmarks, i * airportCount, airportCount);
+            for(int airport = 0; airport < airportCount; airport++) {
+                if(i == 0 || fromDistances[airport] < closestLandmarkDistances[airport]) {
+                    closestLandmarkDistances[airport] = fromDistances[airport];
+                }
+            }
+        }
+    }
+
+    // Get a lower bound of the cost of flying from an airport to the destination
+    public double estimate(int airport, int airportDestination) {
+        if(this.mode == Mode.DIJKSTRA || airport == airportDestination) {
+            return 0;
+        }
+        RouteNetwork network = this.network;
+        double bound = Airport.calculateDistance(network.latitudes[airport], network.longitudes[airport], network.latitudes[airportDestination], network.longitudes[airportDestination]) + this.minimumFlightCost;
+
+        int airportCount = network.airportCount;
+        for(int i = 0; i < this.landmarks.length; i++) {
+            // d(airport, destination) >= d(airport, landmark) - d(destination, landmark) and >= d(landmark, destination) - d(landmark, airport)
+            double toAirport = this.toLandmarks[i * airportCount + airport];
+            double toDestination = this.toLandmarks[i * airportCount + airportDestination];
+            if(toAirport != Double.POSITIVE_INFINITY && toDestination != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, toAirport - toDestination);
+            }
+            double fromAirport = this.fromLandmarks[i * airportCount + airport];
+            double fromDestination = this.fromLandmarks[i * airportCount + airportDestination];
+            if(fromAirport != Double.POSITIVE_INFINITY && fromDestination != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, fromDestination - fromAirport);
+            }
+        }
+        return bound * SAFETY_FACTOR;
+    }
+
+    // Dijkstra from a landmark with the lower bound cost of every flight as edge weights
+    private double[] findDistances(int landmark, int[] edgeOffsets, int[] edgeTargets, double[] edgeDistances) {
+        double[] distances = new double[this.network.airportCount];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[landmark] = 0;
+
+        // Every airport is in the heap once and a shorter distance moves it up, so every poll settles an airport
+        IndexedMinHeap minHeap = new IndexedMinHeap();
+        minHeap.reset(this.network.airportCount);
+        minHeap.add(landmark, 0);
+        while(!minHeap.isEmpty()) {
+            int airport = minHeap.poll();
+            for(int edge = edgeOffsets[airport]; edge < edgeOffsets[airport + 1]; edge++) {
+                int neighborAirport = edgeTargets[edge];
+                double distance = distances[airport] + edgeDistances[edge] + this.minimumFlightCost;
+                if(distance < distances[neighborAirport]) {
+                    boolean reached = distances[neighborAirport] != Double.POSITIVE_INFINITY;
+                    distances[neighborAirport] = distance;
+                    if(!reached) {
+                        minHeap.add(neighborAirport, distance);
+                    }
+                    else if(minHeap.contains(neighborAirport)) {
+                        minHeap.decreasePriority(neighborAirport, distance);
+                    }
+                }
+            }
+        }
+        return distances;
+    }
+}
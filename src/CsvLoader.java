@@ -0,0 +1,414 @@
+// Load the airports, directions and weather CSV files. Files are memory-mapped and the fields are parsed directly from the bytes,
+// only airport codes and airfield names are turned into Strings. Malformed input is reported with its line and column
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class CsvLoader {
+    // Exact powers of ten for the fast path of parseDouble
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final String fileName;
+    private final MappedByteBuffer buffer;
+    private final int length;
+    private int position;
+    private int line;  // Line of the current position, starting from 1
+    private int lineStart;  // Position of the first byte of the current line
+
+    private CsvLoader(Path path) throws IOException {
+        this.fileName = path.toString();
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(this.fileName + " is larger than 2 GB");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        this.length = this.buffer.limit();
+        this.line = 1;
+    }
+
+    // Load the airports and the directions between them into a route network. Airport ids are given in the order of the airports file
+    public static RouteNetwork loadNetwork(Path airportsPath, Path directionsPath) throws IOException {
+        // AirportCode,AirfieldName,Latitude,Longitude,ParkingCost
+        CsvLoader airports = new CsvLoader(airportsPath);
+        airports.skipLine();
+        NameTable airportCodes = new NameTable();
+        NameTable airfieldNames = new NameTable();
+        int[] airfieldIds = new int[256];
+        double[] latitudes = new double[256];
+        double[] longitudes = new double[256];
+        int[] parkingCosts = new int[256];
+        while(airports.nextRecord()) {
+            int codeStart = airports.position;
+            int codeEnd = airports.readField();
+            if(airportCodes.find(airports.buffer, codeStart, codeEnd) != -1) {
+                throw airports.error(codeStart, "Duplicate airport code " + airports.getString(codeStart, codeEnd));
+            }
+            int airport = airportCodes.add(airports.getString(codeStart, codeEnd));
+            if(airport == latitudes.length) {
+                airfieldIds = Arrays.copyOf(airfieldIds, airport * 2);
+                latitudes = Arrays.copyOf(latitudes, airport * 2);
+                longitudes = Arrays.copyOf(longitudes, airport * 2);
+                parkingCosts = Arrays.copyOf(parkingCosts, airport * 2);
+            }
+            airports.expectSeparator();
+            airfieldIds[airport] = airports.readName(airfieldNames);
+            airports.expectSeparator();
+            latitudes[airport] = airports.parseDouble();
+            airports.expectSeparator();
+            longitudes[airport] = airports.parseDouble();
+            airports.expectSeparator();
+            int parkingCostStart = airports.position;
+            long parkingCost = airports.parseLong();
+            if(parkingCost < Integer.MIN_VALUE || parkingCost > Integer.MAX_VALUE) {
+                throw airports.error(parkingCostStart, "ParkingCost is out of range");
+            }
+            parkingCosts[airport] = (int) parkingCost;
+            airports.endRecord();
+        }
+
+        int airportCount = airportCodes.size();
+        String[] airportAirfieldNames = new String[airportCount];
+        for(int airport = 0; airport < airportCount; airport++) {
+            airportAirfieldNames[airport] = airfieldNames.get(airfieldIds[airport]);
+        }
+
+        // from,to
+        CsvLoader directions = new CsvLoader(directionsPath);
+        directions.skipLine();
+        int edgeCount = 0;
+        int[] fromAirports = new int[1024];
+        int[] toAirports = new int[1024];
+        while(directions.nextRecord()) {
+            if(edgeCount == fromAirports.length) {
+                fromAirports = Arrays.copyOf(fromAirports, edgeCount * 2);
+                toAirports = Arrays.copyOf(toAirports, edgeCount * 2);
+            }
+            fromAirports[edgeCount] = directions.readAirport(airportCodes);
+            directions.expectSeparator();
+            toAirports[edgeCount] = directions.readAirport(airportCodes);
+            directions.endRecord();
+            edgeCount++;
+        }
+
+        // Sort the directions by their departure airport, keeping the order of the file for the directions of the same airport
+        int[] edgeOffsets = new int[airportCount + 1];
+        for(int edge = 0; edge < edgeCount; edge++) {
+            edgeOffsets[fromAirports[edge] + 1]++;
+        }
+        for(int airport = 0; airport < airportCount; airport++) {
+            edgeOffsets[airport + 1] += edgeOffsets[airport];
+        }
+        int[] edgeTargets = new int[edgeCount];
+        int[] nextEdge = Arrays.copyOf(edgeOffsets, airportCount);
+        for(int edge = 0; edge < edgeCount; edge++) {
+            edgeTargets[nextEdge[fromAirports[edge]]++] = toAirports[edge];
+        }
+
+        return new RouteNetwork(airportCodes.toArray(), airportAirfieldNames, Arrays.copyOf(latitudes, airportCount), Arrays.copyOf(longitudes, airportCount), Arrays.copyOf(parkingCosts, airportCount), edgeOffsets, edgeTargets);
+    }
+
+    // Load the weatherCodes of the airfields into a weather table
+    public static WeatherTable loadWeather(Path weatherPath) throws IOException {
+        // AirfieldName,Time,WeatherCode
+        CsvLoader weather = new CsvLoader(weatherPath);
+        weather.skipLine();
+        NameTable airfieldNames = new NameTable();
+        int rowCount = 0;
+        int[] rowAirfields = new int[1024];
+        long[] rowTimes = new long[1024];
+        int[] rowWeatherCodes = new int[1024];
+        while(weather.nextRecord()) {
+            if(rowCount == rowTimes.length) {
+                rowAirfields = Arrays.copyOf(rowAirfields, rowCount * 2);
+                rowTimes = Arrays.copyOf(rowTimes, rowCount * 2);
+                rowWeatherCodes = Arrays.copyOf(rowWeatherCodes, rowCount * 2);
+            }
+            rowAirfields[rowCount] = weather.readName(airfieldNames);
+            weather.expectSeparator();
+            rowTimes[rowCount] = weather.parseLong();
+            weather.expectSeparator();
+            int codeStart = weather.position;
+            long weatherCode = weather.parseLong();
+            if(weatherCode < 0 || weatherCode > 31) {
+                throw weather.error(codeStart, "WeatherCode should be between 0 and 31");
+            }
+            rowWeatherCodes[rowCount] = (int) weatherCode;
+            weather.endRecord();
+            rowCount++;
+        }
+        return WeatherTable.fromRows(airfieldNames.toArray(), rowAirfields, rowTimes, rowWeatherCodes, rowCount);
+    }
+
+    // Skip the rest of the current line, used for the header
+    private void skipLine() {
+        while(this.position < this.length && this.buffer.get(this.position) != '\n') {
+            this.position++;
+        }
+        if(this.position < this.length) {
+            this.position++;
+            this.line++;
+            this.lineStart = this.position;
+        }
+    }
+
+    // Skip blank lines, returns whether there is another record
+    private boolean nextRecord() {
+        while(this.position < this.length) {
+            byte b = this.buffer.get(this.position);
+            if(b == '\n') {
+                this.position++;
+                this.line++;
+                this.lineStart = this.position;
+            }
+            else if(b == '\r' || b == ' ' || b == '\t') {
+                this.position++;
+            }
+            else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Check that the record ends after its last field
+    private void endRecord() {
+        while(this.position < this.length) {
+            byte b = this.buffer.get(this.position);
+            if(b == '\n') {
+                return;
+            }
+            if(b != '\r' && b != ' ' && b != '\t') {
+                throw error(this.position, "Expected end of line");
+            }
+            this.position++;
+        }
+    }
+
+    private void expectSeparator() {
+        if(this.position >= this.length || this.buffer.get(this.position) != ',') {
+            throw error(this.position, "Expected ','");
+        }
+        this.position++;
+    }
+
+    // Move to the end of the current field and return its end position. Blanks at the end of the last field of a line are not part of it,
+    // like the rest of the line end
+    private int readField() {
+        int start = this.position;
+        while(this.position < this.length) {
+            byte b = this.buffer.get(this.position);
+            if(b == ',' || b == '\n' || b == '\r') {
+                break;
+            }
+            this.position++;
+        }
+        int end = this.position;
+        if(this.position == this.length || this.buffer.get(this.position) != ',') {
+            while(end > start && (this.buffer.get(end - 1) == ' ' || this.buffer.get(end - 1) == '\t')) {
+                end--;
+            }
+        }
+        if(end == start) {
+            throw error(start, "Empty field");
+        }
+        return end;
+    }
+
+    // Read a field and return its id in the table, new names are added to the table
+    private int readName(NameTable names) {
+        int start = this.position;
+        int end = readField();
+        int id = names.find(this.buffer, start, end);
+        return id != -1 ? id : names.add(getString(start, end));
+    }
+
+    private int readAirport(NameTable airportCodes) {
+        int start = this.position;
+        int end = readField();
+        int airport = airportCodes.find(this.buffer, start, end);
+        if(airport == -1) {
+            throw error(start, "Unknown airport " + getString(start, end));
+        }
+        return airport;
+    }
+
+    private String getString(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        this.buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long parseLong() {
+        int start = this.position;
+        boolean negative = false;
+        if(this.position < this.length && this.buffer.get(this.position) == '-') {
+            negative = true;
+            this.position++;
+        }
+        long value = 0;
+        int digitStart = this.position;
+        while(this.position < this.length) {
+            byte b = this.buffer.get(this.position);
+            if(b < '0' || b > '9') {
+                break;
+            }
+            if(value > (Long.MAX_VALUE - (b - '0')) / 10) {
+                throw error(start, "Number is too large");
+            }
+            value = value * 10 + (b - '0');
+            this.position++;
+        }
+        if(this.position == digitStart) {
+            throw error(start, "Expected an integer");
+        }
+        return negative ? -value : value;
+    }
+
+    // Decimal numbers with up to 18 significant digits and 22 fraction digits are converted exactly with a single division,
+    // other numbers fall back to Double.parseDouble so the result always equals Double.parseDouble
+    private double parseDouble() {
+        int start = this.position;
+        boolean negative = false;
+        if(this.position < this.length && (this.buffer.get(this.position) == '-' || this.buffer.get(this.position) == '+')) {
+            negative = this.buffer.get(this.position) == '-';
+            this.position++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        boolean fastPath = true;
+        boolean anyDigit = false;
+        while(this.position < this.length) {
+            byte b = this.buffer.get(this.position);
+            if(b >= '0' && b <= '9') {
+                anyDigit = true;
+                if(digits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if(mantissa != 0) {
+                        digits++;
+                    }
+                    if(fraction) {
+                        fractionDigits++;
+                    }
+                }
+                else {
+                    fastPath = false;
+                }
+            }
+            else if(b == '.' && !fraction) {
+                fraction = true;
+            }
+            else if(b == 'e' || b == 'E' || b == '-' || b == '+') {
+                fastPath = false;
+            }
+            else {
+                break;
+            }
+            this.position++;
+        }
+        if(!anyDigit) {
+            throw error(start, "Expected a number");
+        }
+
+        if(fastPath && mantissa < (1L << 53) && fractionDigits < POWERS_OF_TEN.length) {
+            double value = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(getString(start, this.position));
+        }
+        catch(NumberFormatException e) {
+            throw error(start, "Expected a number");
+        }
+    }
+
+    private IllegalArgumentException error(int position, String message) {
+        return new IllegalArgumentException(this.fileName + ":" + this.line + ":" + (position - this.lineStart + 1) + ": " + message);
+    }
+
+    // Names with dense ids in the order they are added, looked up directly from the bytes of a field
+    private static class NameTable {
+        private String[] names = new String[256];
+        private byte[][] nameBytes = new byte[256][];
+        private int size;
+        private int[] slots = new int[512];  // Open addressing table of id + 1, 0 for empty slots
+
+        int size() {
+            return this.size;
+        }
+
+        String get(int id) {
+            return this.names[id];
+        }
+
+        String[] toArray() {
+            return Arrays.copyOf(this.names, this.size);
+        }
+
+        int find(MappedByteBuffer buffer, int start, int end) {
+            int mask = this.slots.length - 1;
+            for(int slot = hash(buffer, start, end) & mask; this.slots[slot] != 0; slot = (slot + 1) & mask) {
+                if(equals(this.nameBytes[this.slots[slot] - 1], buffer, start, end)) {
+                    return this.slots[slot] - 1;
+                }
+            }
+            return -1;
+        }
+
+        int add(String name) {
+            if(this.size == this.names.length) {
+                this.names = Arrays.copyOf(this.names, this.size * 2);
+                this.nameBytes = Arrays.copyOf(this.nameBytes, this.size * 2);
+            }
+            this.names[this.size] = name;
+            this.nameBytes[this.size] = name.getBytes(StandardCharsets.UTF_8);
+            if(2 * (this.size + 1) > this.slots.length) {
+                this.slots = new int[this.slots.length * 2];
+                for(int id = 0; id < this.size; id++) {
+                    insert(id);
+                }
+            }
+            insert(this.size);
+            return this.size++;
+        }
+
+        private void insert(int id) {
+            int hash = 0;
+            for(byte b : this.nameBytes[id]) {
+                hash = 31 * hash + b;
+            }
+            int mask = this.slots.length - 1;
+            int slot = hash & mask;
+            while(this.slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.slots[slot] = id + 1;
+        }
+
+        private static int hash(MappedByteBuffer buffer, int start, int end) {
+            int hash = 0;
+            for(int i = start; i < end; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+            return hash;
+        }
+
+        private static boolean equals(byte[] bytes, MappedByteBuffer buffer, int start, int end) {
+            if(bytes.length != end - start) {
+                return false;
+            }
+            for(int i = 0; i < bytes.length; i++) {
+                if(bytes[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
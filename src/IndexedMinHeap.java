@@ -0,0 +1,110 @@
+// 4-ary min heap of int ids from 0 to capacity - 1 with double priorities. Every id is at most once in the heap and the position of every id
+// is kept, so a lower priority moves the id up in place instead of adding a second entry. A 4-ary heap is shallower than a binary one,
+// which makes the frequent decrease-key operations cheaper while the polls compare 4 children on the same cache line
+import java.util.Arrays;
+
+public class IndexedMinHeap {
+    private int[] ids;  // Ids in heap order
+    private double[] priorities;  // Priority of the id at every heap position
+    private int[] positions;  // Heap position of every id, -1 if it is not in the heap
+    private int size;
+
+    public IndexedMinHeap() {
+        this.ids = new int[64];
+        this.priorities = new double[64];
+        this.positions = new int[0];
+    }
+
+    // Empty the heap and make room for ids below the capacity. Only the ids left in the heap are cleared
+    public void reset(int capacity) {
+        for(int i = 0; i < this.size; i++) {
+            this.positions[this.ids[i]] = -1;
+        }
+        this.size = 0;
+        if(this.positions.length < capacity) {
+            this.positions = new int[capacity];
+            Arrays.fill(this.positions, -1);
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean contains(int id) {
+        return this.positions[id] != -1;
+    }
+
+    // Add an id which is not in the heap
+    public void add(int id, double priority) {
+        if(this.size == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            this.priorities = Arrays.copyOf(this.priorities, this.size * 2);
+        }
+        siftUp(this.size++, id, priority);
+    }
+
+    // Lower the priority of an id which is in the heap
+    public void decreasePriority(int id, double priority) {
+        siftUp(this.positions[id], id, priority);
+    }
+
+    // Remove and return the id with the least priority
+    public int poll() {
+        int result = this.ids[0];
+        this.positions[result] = -1;
+        int n = --this.size;
+        if(n > 0) {
+            siftDown(this.ids[n], this.priorities[n]);
+        }
+        return result;
+    }
+
+    private void siftUp(int k, int id, double priority) {
+        while(k > 0) {
+            int parent = (k - 1) >>> 2;
+            if(priority >= this.priorities[parent]) {
+                break;
+            }
+            this.ids[k] = this.ids[parent];
+            this.priorities[k] = this.priorities[parent];
+            this.positions[this.ids[k]] = k;
+            k = parent;
+        }
+        this.ids[k] = id;
+        this.priorities[k] = priority;
+        this.positions[id] = k;
+    }
+
+    // Move the given id down from the root, to the place of the polled one
+    private void siftDown(int id, double priority) {
+        int k = 0;
+        while(true) {
+            int firstChild = (k << 2) + 1;
+            if(firstChild >= this.size) {
+                break;
+            }
+            int child = firstChild;
+            int lastChild = Math.min(firstChild + 4, this.size);
+            for(int i = firstChild + 1; i < lastChild; i++) {
+                if(this.priorities[i] < this.priorities[child]) {
+                    child = i;
+                }
+            }
+            if(priority <= this.priorities[child]) {
+                break;
+            }
+            this.ids[k] = this.ids[child];
+            this.priorities[k] = this.priorities[child];
+            this.positions[this.ids[k]] = k;
+            k = child;
+        }
+        this.ids[k] = id;
+        this.priorities[k] = priority;
+        this.positions[id] = k;
+    }
+}
@@ -0,0 +1,64 @@
+// Histogram of wall times with fixed buckets from 10 microseconds to 100 seconds, 1 - 2.5 - 5 steps per decade
+import java.math.BigDecimal;
+import java.util.Locale;
+
+public class LatencyHistogram {
+    // Upper bounds of the buckets in seconds, the last bucket has no upper bound
+    public static final double[] BUCKET_BOUNDS = {
+            0.00001, 0.000025, 0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05,
+            0.1, 0.25, 0.5, 1, 2.5, 5, 10, 25, 50, 100};
+
+    private final long[] bucketCounts;  // Observations in every bucket, not cumulative
+    private long count;
+    private long sumNanos;
+
+    public LatencyHistogram() {
+        this.bucketCounts = new long[BUCKET_BOUNDS.length + 1];
+    }
+
+    public void observe(long nanos) {
+        double seconds = nanos / 1e9;
+        int bucket = 0;
+        while(bucket < BUCKET_BOUNDS.length && seconds > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        this.bucketCounts[bucket]++;
+        this.count++;
+        this.sumNanos += nanos;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    // Write the histogram in the Prometheus text format with cumulative buckets
+    public void appendPrometheus(StringBuilder output, String name, String help) {
+        output.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(name).append(" histogram\n");
+        long cumulativeCount = 0;
+        for(int bucket = 0; bucket < BUCKET_BOUNDS.length; bucket++) {
+            cumulativeCount += this.bucketCounts[bucket];
+            output.append(name).append("_bucket{le=\"").append(formatBound(BUCKET_BOUNDS[bucket])).append("\"} ").append(cumulativeCount).append('\n');
+        }
+        output.append(name).append("_bucket{le=\"+Inf\"} ").append(this.count).append('\n');
+        output.append(name).append("_sum ").append(String.format(Locale.ROOT, "%.9f", this.sumNanos / 1e9)).append('\n');
+        output.append(name).append("_count ").append(this.count).append('\n');
+    }
+
+    // Write the histogram as a JSON object with the bucket bounds and the observations of every bucket
+    public void appendJson(StringBuilder output) {
+        output.append("{\"count\":").append(this.count).append(",\"sumNanos\":").append(this.sumNanos).append(",\"buckets\":[");
+        for(int bucket = 0; bucket <= BUCKET_BOUNDS.length; bucket++) {
+            if(bucket > 0) {
+                output.append(',');
+            }
+            String bound = bucket < BUCKET_BOUNDS.length ? formatBound(BUCKET_BOUNDS[bucket]) : "\"+Inf\"";
+            output.append("{\"le\":").append(bound).append(",\"count\":").append(this.bucketCounts[bucket]).append('}');
+        }
+        output.append("]}");
+    }
+
+    private static String formatBound(double bound) {
+        return BigDecimal.valueOf(bound).stripTrailingZeros().toPlainString();
+    }
+}
@@ -1,94 +1,84 @@
-import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
+import java.nio.file.Path;
+import java.util.ArrayList;
 
 public class Main {
-    public static void main(String[] args) throws IOException {
-        // Array for storing plane objects
-        Plane[] planes = new Plane[4];
-        planes[0] = new Plane("Carreidas 160");
-        planes[1] = new Plane("Orion III");
-        planes[2] = new Plane("Skyfleet S570");
-        planes[3] = new Plane("T-16 Skyhopper");
+    public static void main(String[] args) throws IOException, InterruptedException {
+        // Compile the airports, directions and weather files into a binary snapshot: --compile <airports-csv> <directions-csv> <weather-csv> <snapshot>
+        if(args.length > 0 && args[0].equals("--compile")) {
+            Path[] sourcePaths = {Path.of(args[1]), Path.of(args[2]), Path.of(args[3])};
+            NetworkSnapshot.write(Path.of(args[4]), CsvLoader.loadNetwork(sourcePaths[0], sourcePaths[1]), CsvLoader.loadWeather(sourcePaths[2]), sourcePaths);
+            return;
+        }
 
-        // Plane that will be used for the current missions
-        Plane plane;
+        // Keep the network loaded and answer missions over a local socket: --serve <airports-csv> <directions-csv> <weather-csv> [options]
+        if(args.length > 0 && args[0].equals("--serve")) {
+            PlannerOptions options = PlannerOptions.parse(args, 4);
+            MyGraph myGraph = createGraph(new Path[] {Path.of(args[1]), Path.of(args[2]), Path.of(args[3])}, options);
+            PlannerServer server = new PlannerServer(myGraph, options);
+            System.err.println("Listening on 127.0.0.1:" + server.getPort());
+            server.serve();
+            return;
+        }
 
-        // Store all the airport objects
-        MyGraph myGraph = new MyGraph();
+        // Optional arguments after the 6 file names
+        PlannerOptions options = PlannerOptions.parse(args, 6);
+
+        // Network, weather and search settings shared by the missions
+        long loadStartTime = System.nanoTime();
+        MyGraph myGraph = createGraph(new Path[] {Path.of(args[0]), Path.of(args[1]), Path.of(args[2])}, options);
+        long loadNanos = System.nanoTime() - loadStartTime;
 
         FileWriter task1 = new FileWriter(args[4], true);
         FileWriter task2 = new FileWriter(args[5], true);
 
-        // Create and store airport objects
-        File file = new File(args[0]);
-        Scanner input = new Scanner(file);
-        input.nextLine();
-
-        while(input.hasNextLine()) {
-            String[] airportInfo = input.nextLine().strip().split(",");
-            Airport airport = new Airport(airportInfo[0], airportInfo[1], Double.parseDouble(airportInfo[2]), Double.parseDouble(airportInfo[3]), Integer.parseInt(airportInfo[4]));
-            myGraph.allAirports.put(airport.airportCode, airport);
-        }
-        input.close();
-
-        // Create adjacency lists from the input file which includes info about which airports planes fly to from an airport
-        file = new File(args[1]);
-        input = new Scanner(file);
-        input.nextLine();
+        // Carry out missions
+        ArrayList<Mission> missions = Mission.readMissions(Path.of(args[3]), myGraph.network);  // File containing plane model and mission details
 
-        while(input.hasNextLine()) {
-            String[] fromTo = input.nextLine().strip().split(",");
-            Airport mainAirport = myGraph.allAirports.get(fromTo[0]);
-            Airport neighborAirport = myGraph.allAirports.get(fromTo[1]);
-            mainAirport.neighborAirports.add(neighborAirport);
+        // Solve the missions on the worker threads and write the results in the order of the missions
+        String[] task1Results = new String[missions.size()];
+        String[] task2Results = new String[missions.size()];
+        MissionRunner missionRunner = new MissionRunner(myGraph, options.threadCount, options.virtualThreads);
+        MissionMetrics metrics = options.metricsPath == null ? null : new MissionMetrics(missions.size());
+        missionRunner.setMetrics(metrics);
+        missionRunner.run(missions, task1Results, task2Results);
+        for(int i = 0; i < missions.size(); i++) {
+            task1.write(task1Results[i] + "\n");
+            task2.write(task2Results[i] + "\n");
         }
-        input.close();
 
-        // Create airfield objects, insert weatherMultiplier values at given times to object's hashmap
-        file = new File(args[2]);  // File including weatherCode values of airfields at given times
-        input = new Scanner(file);
-        input.nextLine();
+        task1.close();
+        task2.close();
 
-        while(input.hasNextLine()) {
-            String[] timeWeatherCode = input.nextLine().strip().split(",");
-            Airfield airfield;
-            if(!myGraph.airfields.containsKey(timeWeatherCode[0])) {
-                airfield = new Airfield(timeWeatherCode[0]);
-                myGraph.airfields.put(airfield.airfieldName, airfield);
-            }
-            airfield = myGraph.airfields.get(timeWeatherCode[0]);
-            airfield.weatherMultipliers.put(Long.parseLong(timeWeatherCode[1]), Airport.calculateWeatherMultiplier(Integer.parseInt(timeWeatherCode[2])));
+        if(metrics != null) {
+            metrics.loadNanos = loadNanos;
+            metrics.write(options.metricsPath, missions, myGraph.network, task2Results);
         }
-        input.close();
 
-        // Carry out missions
-        file = new File(args[3]);  // File containing plane model and mission details
-        input = new Scanner(file);
-        String planeModel = input.nextLine().strip();
-        switch (planeModel) {  // Choose plane model to use in the missions
-            case "Carreidas 160" -> plane = planes[0];
-            case "Orion III" -> plane = planes[1];
-            case "Skyfleet S570" -> plane = planes[2];
-            case "T-16 Skyhopper" -> plane = planes[3];
-            default -> throw new IllegalStateException("Unexpected value: " + planeModel);
+        if(options.searchStats) {
+            System.err.println("Settled airports in task 1: " + missionRunner.getTask1SettledCount());
+            System.err.println("Settled states in task 2: " + missionRunner.getTask2SettledCount());
+            System.err.println("Task 1 tree cache hits: " + myGraph.task1Planner.treeCache.getHitCount() + ", misses: " + myGraph.task1Planner.treeCache.getMissCount());
         }
+    }
 
-        while(input.hasNextLine()) {
-            String[] missionDetails = input.nextLine().strip().split(" ");
-            Airport airportOrigin = myGraph.allAirports.get(missionDetails[0]);
-            Airport airportDestination = myGraph.allAirports.get(missionDetails[1]);
-            Long timeOrigin = Long.parseLong(missionDetails[2]);  // Start hour of the current mission
-            Long deadline = Long.parseLong(missionDetails[3]);  // Deadline of the current mission
-
-            myGraph.findShortestPathTask1(airportOrigin, timeOrigin, airportDestination, task1);
-            myGraph.findShortestPathTask2(airportOrigin, timeOrigin, airportDestination, deadline, plane, task2);
+    // Load the network and the weather from the airports, directions and weather files and apply the search options.
+    // The plane models of the planes file are registered as well, so that missions can name them
+    public static MyGraph createGraph(Path[] sourcePaths, PlannerOptions options) throws IOException {
+        if(options.planesPath != null) {
+            for(Plane plane : Plane.readPlanes(options.planesPath)) {
+                Plane.register(plane);
+            }
         }
-        input.close();
-
-
-        task1.close();
-        task2.close();
+        MyGraph myGraph = new MyGraph();
+        NetworkSnapshot snapshot = NetworkSnapshot.loadOrCompile(options.snapshotPath, sourcePaths);
+        myGraph.setNetwork(snapshot.network);
+        myGraph.setSearchMode(options.searchMode, options.landmarkCount);
+        myGraph.setWeather(snapshot.weather);
+        myGraph.setTask1CacheSize(options.task1CacheBytes);
+        myGraph.setTask1Engine(options.task1Engine);
+        myGraph.setTask2Engine(options.task2Engine);
+        return myGraph;
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+// A mission read from the missions file, airports are given with their ids in the "RouteNetwork"
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+public class Mission {
+    public int airportOrigin;
+    public int airportDestination;
+    public long timeOrigin;  // Start time of the mission in seconds
+    public long deadline;  // Deadline of the mission in seconds
+    public Plane plane;  // Plane the mission will be accomplished with
+
+    public Mission(int airportOrigin, int airportDestination, long timeOrigin, long deadline, Plane plane) {
+        this.airportOrigin = airportOrigin;
+        this.airportDestination = airportDestination;
+        this.timeOrigin = timeOrigin;
+        this.deadline = deadline;
+        this.plane = plane;
+    }
+
+    // Read the missions file. A line with only a plane model sets the plane of the following missions, the first line of the file is one.
+    // A mission line can also name its own plane after the deadline: <AirportOrigin> <AirportDestination> <TimeOrigin> <Deadline> [<plane model>]
+    public static ArrayList<Mission> readMissions(Path missionsPath, RouteNetwork network) throws IOException {
+        Scanner input = new Scanner(new File(missionsPath.toString()));
+        Plane plane = null;  // Plane that will be used for the current missions
+
+        ArrayList<Mission> missions = new ArrayList<>();
+        while(input.hasNextLine()) {
+            String line = input.nextLine().strip();
+            if(line.isEmpty()) {
+                continue;
+            }
+            Plane linePlane = Plane.forModel(line);
+            if(linePlane != null) {
+                plane = linePlane;
+                continue;
+            }
+
+            String[] missionDetails = line.split(" +", 5);
+            if(missionDetails.length < 4) {
+                throw new IllegalStateException("Unexpected value: " + line);
+            }
+            int airportOrigin = getAirportId(network, missionDetails[0]);
+            int airportDestination = getAirportId(network, missionDetails[1]);
+            long timeOrigin = Long.parseLong(missionDetails[2]);  // Start hour of the current mission
+            long deadline = Long.parseLong(missionDetails[3]);  // Deadline of the current mission
+            Plane missionPlane = missionDetails.length == 5 ? Plane.forModel(missionDetails[4]) : plane;
+            if(missionPlane == null) {
+                throw new IllegalStateException("Unexpected value: " + (missionDetails.length == 5 ? missionDetails[4] : "no plane model is given before " + line));
+            }
+            missions.add(new Mission(airportOrigin, airportDestination, timeOrigin, deadline, missionPlane));
+        }
+        input.close();
+        return missions;
+    }
+
+    private static int getAirportId(RouteNetwork network, String airportCode) {
+        int airportId = network.getAirportId(airportCode);
+        if(airportId == -1) {
+            throw new IllegalStateException("Unexpected airport: " + airportCode);
+        }
+        return airportId;
+    }
+}
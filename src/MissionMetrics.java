@@ -0,0 +1,149 @@
+// Per-mission wall times and search counters of a batch, recorded by the "MissionRunner" when metrics are enabled.
+// Every mission is recorded at its own index by the worker which solves it, so no locking is needed.
+// Both tasks are recorded per search: a group of missions answered from one task 1 shortest path tree, one task 2 sweep or one task 2 frontier
+// is recorded at its first mission
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class MissionMetrics {
+    public long loadNanos;  // Time to load the network and weather and set up the graph
+
+    private final long[] task1Nanos;
+    private final int[] task1FirstMissions;  // First mission of the group whose search answered the mission
+    private final int[] task1GroupSizes;
+    private final SearchCounters[] task1Counters;
+    private final long[] task2Nanos;
+    private final int[] task2FirstMissions;
+    private final int[] task2GroupSizes;
+    private final SearchCounters[] task2Counters;
+
+    public MissionMetrics(int missionCount) {
+        this.task1Nanos = new long[missionCount];
+        this.task1FirstMissions = new int[missionCount];
+        this.task1GroupSizes = new int[missionCount];
+        this.task1Counters = new SearchCounters[missionCount];
+        this.task2Nanos = new long[missionCount];
+        this.task2FirstMissions = new int[missionCount];
+        this.task2GroupSizes = new int[missionCount];
+        this.task2Counters = new SearchCounters[missionCount];
+    }
+
+    public void recordTask1(int[] group, long nanos, SearchCounters counters) {
+        this.task1Nanos[group[0]] = nanos;
+        this.task1GroupSizes[group[0]] = group.length;
+        this.task1Counters[group[0]] = counters;
+        for(int missionIndex : group) {
+            this.task1FirstMissions[missionIndex] = group[0];
+        }
+    }
+
+    public void recordTask2(int[] group, long nanos, SearchCounters counters) {
+        this.task2Nanos[group[0]] = nanos;
+        this.task2GroupSizes[group[0]] = group.length;
+        this.task2Counters[group[0]] = counters;
+        for(int missionIndex : group) {
+            this.task2FirstMissions[missionIndex] = group[0];
+        }
+    }
+
+    // Write the metrics in the Prometheus text format if the file name ends with .prom, otherwise as JSON lines:
+    // one line per mission followed by a summary line with the histograms and totals
+    public void write(Path metricsPath, List<Mission> missions, RouteNetwork network, String[] task2Results) throws IOException {
+        LatencyHistogram loadHistogram = new LatencyHistogram();
+        loadHistogram.observe(this.loadNanos);
+        LatencyHistogram task1Histogram = new LatencyHistogram();
+        LatencyHistogram task2Histogram = new LatencyHistogram();
+        SearchCounters task1Totals = new SearchCounters();
+        SearchCounters task2Totals = new SearchCounters();
+        for(int i = 0; i < missions.size(); i++) {
+            if(this.task1Counters[i] != null) {
+                task1Histogram.observe(this.task1Nanos[i]);
+                task1Totals.add(this.task1Counters[i]);
+            }
+            if(this.task2Counters[i] != null) {
+                task2Histogram.observe(this.task2Nanos[i]);
+                task2Totals.add(this.task2Counters[i]);
+            }
+        }
+
+        StringBuilder output = new StringBuilder();
+        if(metricsPath.getFileName().toString().endsWith(".prom")) {
+            loadHistogram.appendPrometheus(output, "planner_load_seconds", "Time to load the network and weather and set up the graph.");
+            task1Histogram.appendPrometheus(output, "planner_task1_seconds", "Time of a task 1 search, a group of missions sharing origin and weather slot is one search.");
+            task2Histogram.appendPrometheus(output, "planner_task2_seconds", "Time of a task 2 search, a group of missions answered from one sweep or frontier is one search.");
+            appendCounter(output, "planner_task1_settled_airports_total", "Airports settled by the task 1 searches.", task1Totals.settledCount);
+            appendCounter(output, "planner_task1_heap_pushes_total", "Heap pushes of the task 1 searches.", task1Totals.heapPushCount);
+            appendCounter(output, "planner_task1_heap_polls_total", "Heap polls of the task 1 searches.", task1Totals.heapPollCount);
+            appendCounter(output, "planner_task2_settled_states_total", "Airport and slot states settled by the task 2 searches.", task2Totals.settledCount);
+            appendCounter(output, "planner_task2_heap_pushes_total", "Heap pushes of the task 2 searches.", task2Totals.heapPushCount);
+            appendCounter(output, "planner_task2_heap_polls_total", "Heap polls of the task 2 searches.", task2Totals.heapPollCount);
+            appendCounter(output, "planner_task2_cost_table_pruned_total", "Task 2 flights and parks dropped as their state is already reached with a less cost.", task2Totals.costTablePrunedCount);
+            appendCounter(output, "planner_task2_deadline_rejected_total", "Task 2 flights and parks dropped as they cannot reach the destination before the deadline.", task2Totals.deadlineRejectedCount);
+            appendCounter(output, "planner_task2_park_expansions_total", "Task 2 parking operations added to the heap.", task2Totals.parkExpansionCount);
+            output.append("# HELP planner_task2_max_heap_size Largest heap of a task 2 search.\n");
+            output.append("# TYPE planner_task2_max_heap_size gauge\n");
+            output.append("planner_task2_max_heap_size ").append(task2Totals.maxHeapSize).append('\n');
+        }
+        else {
+            for(int i = 0; i < missions.size(); i++) {
+                Mission mission = missions.get(i);
+                output.append("{\"mission\":").append(i + 1);
+                output.append(",\"origin\":\"").append(network.airportCodes[mission.airportOrigin]).append('"');
+                output.append(",\"destination\":\"").append(network.airportCodes[mission.airportDestination]).append('"');
+                output.append(",\"timeOrigin\":").append(mission.timeOrigin);
+                output.append(",\"deadline\":").append(mission.deadline);
+                output.append(",\"task1\":{");
+                if(this.task1Counters[i] != null) {
+                    output.append("\"nanos\":").append(this.task1Nanos[i]).append(",\"groupSize\":").append(this.task1GroupSizes[i]).append(',');
+                    appendCounters(output, this.task1Counters[i], false);
+                }
+                else {
+                    output.append("\"answeredWithMission\":").append(this.task1FirstMissions[i] + 1);
+                }
+                output.append("},\"task2\":{\"solved\":").append(!task2Results[i].equals("No possible solution.")).append(',');
+                if(this.task2Counters[i] != null) {
+                    output.append("\"nanos\":").append(this.task2Nanos[i]).append(",\"groupSize\":").append(this.task2GroupSizes[i]).append(',');
+                    appendCounters(output, this.task2Counters[i], true);
+                }
+                else {
+                    output.append("\"answeredWithMission\":").append(this.task2FirstMissions[i] + 1);
+                }
+                output.append("}}\n");
+            }
+            output.append("{\"summary\":{\"missions\":").append(missions.size());
+            output.append(",\"loadSeconds\":");
+            loadHistogram.appendJson(output);
+            output.append(",\"task1Seconds\":");
+            task1Histogram.appendJson(output);
+            output.append(",\"task2Seconds\":");
+            task2Histogram.appendJson(output);
+            output.append(",\"task1\":{");
+            appendCounters(output, task1Totals, false);
+            output.append("},\"task2\":{");
+            appendCounters(output, task2Totals, true);
+            output.append("}}}\n");
+        }
+        Files.writeString(metricsPath, output, StandardCharsets.UTF_8);
+    }
+
+    private static void appendCounters(StringBuilder output, SearchCounters counters, boolean task2) {
+        output.append("\"settled\":").append(counters.settledCount);
+        output.append(",\"heapPushes\":").append(counters.heapPushCount);
+        output.append(",\"heapPolls\":").append(counters.heapPollCount);
+        output.append(",\"maxHeapSize\":").append(counters.maxHeapSize);
+        if(task2) {
+            output.append(",\"costTablePruned\":").append(counters.costTablePrunedCount);
+            output.append(",\"deadlineRejected\":").append(counters.deadlineRejectedCount);
+            output.append(",\"parkExpansions\":").append(counters.parkExpansionCount);
+        }
+    }
+
+    private static void appendCounter(StringBuilder output, String name, String help, long value) {
+        output.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(name).append(" counter\n");
+        output.append(name).append(' ').append(value).append('\n');
+    }
+}
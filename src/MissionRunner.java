@@ -0,0 +1,132 @@
+// Carry out missions on a pool of worker threads. Every worker takes the next mission in order and searches with its own workspace,
+// results are stored at the index of their mission so they can be written in input order
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MissionRunner {
+    private final MyGraph graph;
+    private final int threadCount;
+    private final boolean virtualThreads;  // Run the workers on virtual threads instead of platform threads
+
+    // Airports settled by the task 1 searches and states settled by the task 2 searches of all workers
+    private final AtomicLong task1SettledCount;
+    private final AtomicLong task2SettledCount;
+
+    // Per-mission wall times and counters, null if metrics are not recorded
+    private MissionMetrics metrics;
+
+    public MissionRunner(MyGraph graph, int threadCount, boolean virtualThreads) {
+        if(threadCount < 1) {
+            throw new IllegalArgumentException("Thread count should be at least 1: " + threadCount);
+        }
+        this.graph = graph;
+        this.threadCount = threadCount;
+        this.virtualThreads = virtualThreads;
+        this.task1SettledCount = new AtomicLong();
+        this.task2SettledCount = new AtomicLong();
+    }
+
+    // Record the wall times and counters of every mission of the next run, null to stop recording
+    public void setMetrics(MissionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // Solve task 1 and task 2 of every mission, results of mission i are stored at task1Results[i] and task2Results[i]
+    // Task 1 missions are solved in groups sharing origin and weather slot, task 2 missions one by one or in the groups of the task 2 engine
+    public void run(List<Mission> missions, String[] task1Results, String[] task2Results) throws InterruptedException {
+        List<int[]> task1Groups = this.graph.task1Planner.groupMissions(missions);
+        List<int[]> task2Groups = this.graph.task2Planner.groupMissions(missions);
+        AtomicInteger nextGroup = new AtomicInteger();
+        AtomicInteger nextMission = new AtomicInteger();
+        int workerCount = Math.min(this.threadCount, missions.size());
+        if(workerCount <= 1) {
+            work(missions, task1Groups, task2Groups, nextGroup, nextMission, task1Results, task2Results);
+            return;
+        }
+
+        ExecutorService executor = createExecutor(workerCount, this.virtualThreads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for(int i = 0; i < workerCount; i++) {
+                workers.add(executor.submit(() -> work(missions, task1Groups, task2Groups, nextGroup, nextMission, task1Results, task2Results)));
+            }
+            for(Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        catch(ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void work(List<Mission> missions, List<int[]> task1Groups, List<int[]> task2Groups, AtomicInteger nextGroup, AtomicInteger nextMission, String[] task1Results, String[] task2Results) {
+        SearchWorkspace workspace = new SearchWorkspace(this.graph);
+        for(int i = nextGroup.getAndIncrement(); i < task1Groups.size(); i = nextGroup.getAndIncrement()) {
+            if(this.metrics == null) {
+                this.graph.task1Planner.solveGroup(missions, task1Groups.get(i), task1Results, workspace);
+                continue;
+            }
+            // The largest heap is measured from the start of the group, the other counters are the differences
+            workspace.task1Search.counters.resetMaxHeapSize();
+            SearchCounters countersBefore = workspace.task1Search.counters.copy();
+            long startTime = System.nanoTime();
+            this.graph.task1Planner.solveGroup(missions, task1Groups.get(i), task1Results, workspace);
+            this.metrics.recordTask1(task1Groups.get(i), System.nanoTime() - startTime, workspace.task1Search.counters.since(countersBefore));
+        }
+        for(int i = nextMission.getAndIncrement(); i < task2Groups.size(); i = nextMission.getAndIncrement()) {
+            if(this.metrics == null) {
+                this.graph.task2Planner.solveGroup(missions, task2Groups.get(i), task2Results, workspace);
+                continue;
+            }
+            workspace.task2Search.counters.resetMaxHeapSize();
+            workspace.task2Sweep.counters.resetMaxHeapSize();
+            SearchCounters countersBefore = getTask2Counters(workspace);
+            long startTime = System.nanoTime();
+            this.graph.task2Planner.solveGroup(missions, task2Groups.get(i), task2Results, workspace);
+            this.metrics.recordTask2(task2Groups.get(i), System.nanoTime() - startTime, getTask2Counters(workspace).since(countersBefore));
+        }
+        this.task1SettledCount.addAndGet(workspace.task1Search.counters.settledCount);
+        this.task2SettledCount.addAndGet(getTask2Counters(workspace).settledCount);
+    }
+
+    // Counters of the heap based searches and the sweeps of a workspace together
+    private static SearchCounters getTask2Counters(SearchWorkspace workspace) {
+        SearchCounters counters = workspace.task2Search.counters.copy();
+        counters.add(workspace.task2Sweep.counters);
+        return counters;
+    }
+
+    public long getTask1SettledCount() {
+        return this.task1SettledCount.get();
+    }
+
+    public long getTask2SettledCount() {
+        return this.task2SettledCount.get();
+    }
+
+    // Pool of workerCount platform threads, or a virtual thread per task. Also used by the "PlannerServer"
+    public static ExecutorService createExecutor(int workerCount, boolean virtualThreads) {
+        if(virtualThreads) {
+            // Virtual threads are available from Java 21, looked up at runtime so the program still compiles on older JDKs
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            }
+            catch(ReflectiveOperationException e) {
+                throw new IllegalStateException("Virtual threads are not supported by this Java runtime", e);
+            }
+        }
+        return Executors.newFixedThreadPool(workerCount);
+    }
+}
@@ -1,204 +1,99 @@
-import java.io.FileWriter;
-import java.io.IOException;
-import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 // Implementation of a weighted graph
 public class MyGraph {
-    // Store all airport nodes
-    public HashMap<String, Airport> allAirports;
+    // Compact route network used by the searches, loaded from the CSV files or a snapshot
+    public RouteNetwork network;
 
-    // Store airfield objects to access weatherCode at an airfield at a specific time
-    public HashMap<String, Airfield> airfields;
+    // Flight durations of every direction for the plane models used so far, built once per model
+    private ConcurrentHashMap<Plane, TimeExpandedNetwork> expandedNetworks;
 
-    // Name and cost of the sequence with the least cost in task 2
-    public LinkedList<Airport> bestSequence;
-    public double leastCost;
-    public boolean solutionFound;
+    // Weather multipliers of the airfields at specific times
+    public WeatherTable weather;
 
-    // Keep track of the least cost of a vertex - time pair
-    private final HashMap<String, Double> vertexTimeCostTable;
+    // Airfield id in the weather table of every airport, indexed by airport id
+    public int[] airportAirfields;
 
-    public MyGraph() {
-        this.allAirports = new HashMap<>();
-        this.airfields = new HashMap<>();
+    // Lower bounds used to direct the searches towards the destination, plain dijkstra by default
+    public CostLowerBound lowerBound;
 
-        this.bestSequence = new LinkedList<>();
-        this.leastCost = Double.MAX_VALUE;
-        this.solutionFound = false;
+    // Groups task 1 missions and caches their shortest path trees
+    public Task1Planner task1Planner;
 
-        this.vertexTimeCostTable = new HashMap<>();
+    // Chooses the task 2 engine and groups task 2 missions for the backward sweep
+    public Task2Planner task2Planner;
+
+    public void setNetwork(RouteNetwork network) {
+        this.network = network;
+        this.expandedNetworks = new ConcurrentHashMap<>();
+        this.lowerBound = new CostLowerBound(network, CostLowerBound.Mode.DIJKSTRA, 0);
     }
 
-    // Find successive possible flight operations from origin to destination. There is no deadline and all flights are happening at TimeOrigin
-    public void findShortestPathTask1(Airport airportOrigin, long timeOrigin, Airport airportDestination, FileWriter output) throws IOException {
-        HashSet<String> alteredAirports = new HashSet<>();  // Keep track of the airports whose cost were altered
+    // Choose how the searches are directed towards the destination, landmarkCount is only used by the landmarks mode
+    public void setSearchMode(CostLowerBound.Mode mode, int landmarkCount) {
+        this.lowerBound = new CostLowerBound(this.network, mode, landmarkCount);
+    }
 
-        airportOrigin.cost = 0;
-        alteredAirports.add(airportOrigin.airportCode);
+    // Attach the weather table to the network, the network should be built beforehand
+    public void setWeather(WeatherTable weather) {
+        this.weather = weather;
+        this.airportAirfields = weather.getAirfieldIds(this.network.airfieldNames);
+        this.task1Planner = new Task1Planner(this, Task1Planner.DEFAULT_CACHE_BYTES, Task1Planner.Engine.DIJKSTRA);
+        this.task2Planner = new Task2Planner(this, Task2Planner.Engine.DIJKSTRA);
+    }
 
-        PriorityQueue<Airport> minHeap = new PriorityQueue<>();
-        minHeap.add(airportOrigin);
+    // Limit the memory used by the cached task 1 shortest path trees, 0 disables the cache
+    public void setTask1CacheSize(long cacheBytes) {
+        this.task1Planner = new Task1Planner(this, cacheBytes, this.task1Planner.engine);
+    }
 
-        HashSet<Airport> settledNodes = new HashSet<>();
+    // Choose how task 1 missions are solved, the contraction hierarchy is built here for the cch engine. The weather should be attached beforehand
+    public void setTask1Engine(Task1Planner.Engine engine) {
+        this.task1Planner = new Task1Planner(this, this.task1Planner.cacheBytes, engine);
+    }
 
-        while(settledNodes.size() != this.allAirports.size()) {
-            if(minHeap.isEmpty()) {
-                return;
-            }
+    // Choose how task 2 missions are solved, the weather should be attached beforehand
+    public void setTask2Engine(Task2Planner.Engine engine) {
+        this.task2Planner = new Task2Planner(this, engine);
+    }
 
-            Airport minDistanceAirport = minHeap.poll();
-            if(settledNodes.contains(minDistanceAirport)) {
-                continue;
+    // Get the airports whose weather is reported by an airfield
+    public int[] getAirfieldAirports(int airfieldId) {
+        int airportCount = 0;
+        for(int airfield : this.airportAirfields) {
+            if(airfield == airfieldId) {
+                airportCount++;
             }
-            settledNodes.add(minDistanceAirport);
-
-            // If the target airport is reached, terminate the method
-            if(minDistanceAirport == airportDestination) {
-                // Print out the shortest path with its total cost
-                minDistanceAirport.shortestPath.add(minDistanceAirport);
-                for(Airport airport : minDistanceAirport.shortestPath) {
-                    output.write(airport.airportCode + " ");
-                }
-                output.write(String.format("%.5f", minDistanceAirport.cost) + "\n");
-
-                // Reset the costs of the airports which were altered during the process
-                for(String airportCode : alteredAirports) {
-                    Airport alteredAirport = this.allAirports.get(airportCode);
-                    alteredAirport.cost = Double.MAX_VALUE;
-                    alteredAirport.shortestPath.clear();
-                }
-
-                return;
-            }
-
-            for(Airport neighborAirport : minDistanceAirport.neighborAirports) {
-                if(settledNodes.contains(neighborAirport)) {
-                    continue;
-                }
-
-                // Calculate the edge weight connecting nodes minDistanceAirport and neighborAirport
-                double departedWeatherMultiplier = this.airfields.get(minDistanceAirport.airfieldName).weatherMultipliers.get(timeOrigin);
-                double landingWeatherMultiplier = this.airfields.get(neighborAirport.airfieldName).weatherMultipliers.get(timeOrigin);
-                double distance = Airport.calculateDistance(minDistanceAirport.latitude, minDistanceAirport.longitude, neighborAirport.latitude, neighborAirport.longitude);
-                double edgeCost = Airport.calculateFlightCost(departedWeatherMultiplier, landingWeatherMultiplier, distance);
-
-                // If the neighbor airport can be visited with a less flight cost, update the shortest path and cost
-                if(minDistanceAirport.cost + edgeCost < neighborAirport.cost) {
-                    neighborAirport.cost = minDistanceAirport.cost + edgeCost;
-                    alteredAirports.add(neighborAirport.airportCode);
-
-                    LinkedList<Airport> shortestPath = new LinkedList<>(minDistanceAirport.shortestPath);
-                    shortestPath.add(minDistanceAirport);
-                    neighborAirport.shortestPath = shortestPath;
-                }
-
-                minHeap.add(neighborAirport);
+        }
+        int[] airports = new int[airportCount];
+        for(int airport = 0, i = 0; airport < this.airportAirfields.length; airport++) {
+            if(this.airportAirfields[airport] == airfieldId) {
+                airports[i++] = airport;
             }
         }
+        return airports;
     }
 
-    // Find a sequence of successive possible flight and park operations starting from the airportOrigin at timeOrigin to reach the airportDestination before the deadline with the minimum total cost
-    public void findShortestPathTask2(Airport airportOrigin, long timeOrigin, Airport airportDestination, long deadline, Plane plane, FileWriter output) throws IOException {
-        Airport startingAirport = new Airport(airportOrigin.airportCode, timeOrigin, 0);
-        startingAirport.shortestPath.add(startingAirport);
-
-        PriorityQueue<Airport> minHeap = new PriorityQueue<>();
-        minHeap.add(startingAirport);
-
-        while(!minHeap.isEmpty()) {
-            Airport minDistanceAirport = minHeap.poll();  // Dummy airport object
-            if(minDistanceAirport.currentTime > deadline) {
-                continue;
-            }
-            Airport originalAirportObject = this.allAirports.get(minDistanceAirport.airportCode);  // Original airport object
-
-            // If the target airport is reached store the shortest path and end dijkstra
-            if(minDistanceAirport.airportCode.equals(airportDestination.airportCode)) {
-                this.bestSequence = minDistanceAirport.shortestPath;
-                this.leastCost = minDistanceAirport.cost;
-                this.solutionFound = true;
-                break;
-            }
-
-            // Add the parking scenario of the current airport into minheap if it does not exceed the deadline
-            Airport parkedVertex = new Airport(minDistanceAirport.airportCode, minDistanceAirport.currentTime + 21600, minDistanceAirport.cost + originalAirportObject.parkingCost);
-            if(parkedVertex.currentTime < deadline) {
-                if(this.vertexTimeCostTable.containsKey(parkedVertex.airportCode + parkedVertex.currentTime)) {
-                    // If this vertex at this time is visited with a less cost currently, add it to minheap and update the min cost for this vertex-time pair
-                    if(this.vertexTimeCostTable.get(parkedVertex.airportCode + parkedVertex.currentTime) > parkedVertex.cost) {
-                        this.vertexTimeCostTable.remove(parkedVertex.airportCode + parkedVertex.currentTime);
-                        this.vertexTimeCostTable.put(parkedVertex.airportCode + parkedVertex.currentTime, parkedVertex.cost);
-
-                        LinkedList<Airport> shortestPath = new LinkedList<>(minDistanceAirport.shortestPath);
-                        shortestPath.add(new Airport("PARK", parkedVertex.currentTime, parkedVertex.cost));
-                        parkedVertex.shortestPath = shortestPath;
-                        minHeap.add(parkedVertex);
-                    }
-                }
-                else {
-                    this.vertexTimeCostTable.put(parkedVertex.airportCode + parkedVertex.currentTime, parkedVertex.cost);
-                    LinkedList<Airport> shortestPath = new LinkedList<>(minDistanceAirport.shortestPath);
-                    shortestPath.add(new Airport("PARK", parkedVertex.currentTime, parkedVertex.cost));
-                    parkedVertex.shortestPath = shortestPath;
-                    minHeap.add(parkedVertex);
-                }
-            }
-
-            for(Airport neighborAirport : originalAirportObject.neighborAirports) {
-
-                // Calculate the edge weight connecting nodes minDistanceAirport and neighborAirport
-                double distance = Airport.calculateDistance(originalAirportObject.latitude, originalAirportObject.longitude, neighborAirport.latitude, neighborAirport.longitude);
-                long flightDuration = plane.getDuration(distance);
-                if(minDistanceAirport.currentTime + flightDuration > deadline) {  // This flight exceeds deadline so ignore it
-                    continue;
-                }
-                double departedWeatherMultiplier = this.airfields.get(originalAirportObject.airfieldName).weatherMultipliers.get(minDistanceAirport.currentTime);
-                double landingWeatherMultiplier = this.airfields.get(neighborAirport.airfieldName).weatherMultipliers.get(minDistanceAirport.currentTime + flightDuration);
-                double edgeCost = Airport.calculateFlightCost(departedWeatherMultiplier, landingWeatherMultiplier, distance);
-
-                // If the neighbor airport can be visited with a less flight cost, update the shortest path and cost
-                if(minDistanceAirport.cost + edgeCost < neighborAirport.cost) {
-                    if(this.vertexTimeCostTable.containsKey(neighborAirport.airportCode + (minDistanceAirport.currentTime + flightDuration))) {
-                        if(this.vertexTimeCostTable.get(neighborAirport.airportCode + (minDistanceAirport.currentTime + flightDuration)) < minDistanceAirport.cost + edgeCost) {
-                            continue;
-                        }
-                        else {
-                            this.vertexTimeCostTable.remove(neighborAirport.airportCode + (minDistanceAirport.currentTime + flightDuration));
-                        }
-                    }
-                    this.vertexTimeCostTable.put(neighborAirport.airportCode + (minDistanceAirport.currentTime + flightDuration), minDistanceAirport.cost + edgeCost);
-
-                    // Create a new dummy neighbor airport with updated time and total cost to add into minheap
-                    Airport dummyNeighborAirport = new Airport(neighborAirport.airportCode, minDistanceAirport.currentTime + flightDuration, minDistanceAirport.cost + edgeCost);
-
-                    LinkedList<Airport> shortestPath = new LinkedList<>(minDistanceAirport.shortestPath);
-                    shortestPath.add(dummyNeighborAirport);
-                    dummyNeighborAirport.shortestPath = shortestPath;
-
-                    minHeap.add(dummyNeighborAirport);
-                }
-            }
-        }
+    // Get the network expanded over the weather slots for a plane model, the flight durations are calculated on the first call for the model
+    public TimeExpandedNetwork getTimeExpandedNetwork(Plane plane) {
+        return this.expandedNetworks.computeIfAbsent(plane, key -> new TimeExpandedNetwork(this.network, plane));
+    }
 
-        this.vertexTimeCostTable.clear();
-        printLeastCostPath(output);
+    // Find successive possible flight operations from origin to destination. There is no deadline and all flights are happening at TimeOrigin
+    // Every thread should search with its own workspace
+    public String findShortestPathTask1(int airportOrigin, long timeOrigin, int airportDestination, SearchWorkspace workspace) {
+        return workspace.task1Search.findShortestPath(airportOrigin, timeOrigin, airportDestination);
     }
 
-    // Print the path with the least cost if it is found
-    private void printLeastCostPath(FileWriter output) throws IOException {
-        if(this.solutionFound) {
-            for(Airport airport :this.bestSequence) {
-                output.write(airport.airportCode + " ");
-            }
-            output.write(String.format("%.5f", this.leastCost) + "\n");
+    // Find a sequence of successive possible flight and park operations starting from the airportOrigin at timeOrigin to reach the airportDestination before the deadline with the minimum total cost
+    // Every thread should search with its own workspace
+    public String findShortestPathTask2(int airportOrigin, long timeOrigin, int airportDestination, long deadline, Plane plane, SearchWorkspace workspace) {
+        return workspace.task2Search.findShortestPath(airportOrigin, timeOrigin, airportDestination, deadline, plane);
+    }
 
-            // Reset data fields
-            this.bestSequence = null;
-            this.leastCost = Double.MAX_VALUE;
-            this.solutionFound = false;
-        }
-        else {
-            output.write("No possible solution.\n");
-        }
+    // Find the task 2 itineraries arriving up to maxDeadline which no other itinerary beats in both arrival time and cost, in one search
+    // Every thread should search with its own workspace
+    public Task2Frontier findFrontierTask2(int airportOrigin, long timeOrigin, int airportDestination, long maxDeadline, Plane plane, SearchWorkspace workspace) {
+        return workspace.task2Search.findFrontier(airportOrigin, timeOrigin, airportDestination, maxDeadline, plane);
     }
 }
@@ -0,0 +1,230 @@
+// Binary snapshot of a loaded route network and weather table, so that a new process can start answering missions without parsing the CSV files.
+// The file starts with a header of magic number, format version, payload length, CRC32 checksum of the payload and the sizes and modification
+// times of the CSV files it was compiled from. A snapshot is only used if all of them match, otherwise the CSV files are loaded again
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+public class NetworkSnapshot {
+    public static final int MAGIC = 0x41524E53;  // "ARNS"
+    public static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 4 + 4 + 8 + 8 + 3 * 16;
+
+    public final RouteNetwork network;
+    public final WeatherTable weather;
+
+    public NetworkSnapshot(RouteNetwork network, WeatherTable weather) {
+        this.network = network;
+        this.weather = weather;
+    }
+
+    // Write the snapshot of a network and weather table loaded from the given airports, directions and weather files
+    public static void write(Path snapshotPath, RouteNetwork network, WeatherTable weather, Path[] sourcePaths) throws IOException {
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(payloadBytes);
+
+        payload.writeInt(network.airportCount);
+        payload.writeInt(network.getEdgeCount());
+        writeStrings(payload, network.airportCodes);
+        writeStrings(payload, network.airfieldNames);
+        writeDoubles(payload, network.latitudes);
+        writeDoubles(payload, network.longitudes);
+        writeInts(payload, network.parkingCosts);
+        writeInts(payload, network.edgeOffsets);
+        writeInts(payload, network.edgeTargets);
+        writeDoubles(payload, network.edgeDistances);
+
+        payload.writeInt(weather.getAirfieldCount());
+        writeStrings(payload, weather.airfieldNames);
+        payload.writeLong(weather.firstSlotTime);
+        payload.writeInt(weather.slotCount);
+        writeDoubles(payload, weather.getMultipliers());
+        payload.flush();
+
+        byte[] payloadArray = payloadBytes.toByteArray();
+        CRC32 checksum = new CRC32();
+        checksum.update(payloadArray);
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeLong(payloadArray.length);
+        header.writeLong(checksum.getValue());
+        for(long value : getSourceFingerprint(sourcePaths)) {
+            header.writeLong(value);
+        }
+        header.flush();
+
+        // Write to a temporary file of this writer first so that a reader never maps a half written snapshot. Processes started together
+        // write their own files and the last rename wins, all of them hold the same snapshot
+        Path absolutePath = snapshotPath.toAbsolutePath();
+        Path temporaryPath = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName() + ".", ".tmp");
+        try {
+            try(FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer headerBuffer = ByteBuffer.wrap(headerBytes.toByteArray());
+                while(headerBuffer.hasRemaining()) {
+                    channel.write(headerBuffer);
+                }
+                ByteBuffer payloadBuffer = ByteBuffer.wrap(payloadArray);
+                while(payloadBuffer.hasRemaining()) {
+                    channel.write(payloadBuffer);
+                }
+            }
+            Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    // Memory-map and read a snapshot, null if it does not exist, is corrupt, has another version or the source files changed since it was written
+    public static NetworkSnapshot load(Path snapshotPath, Path[] sourcePaths) throws IOException {
+        if(!Files.isRegularFile(snapshotPath)) {
+            return null;
+        }
+        MappedByteBuffer buffer;
+        try(FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            if(channel.size() < HEADER_LENGTH || channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return null;
+        }
+        long payloadLength = buffer.getLong();
+        long expectedChecksum = buffer.getLong();
+        // Source files which are not present are not compared, so the snapshot can be shipped without the CSV files
+        long[] fingerprint = getSourceFingerprint(sourcePaths);
+        for(int i = 0; i < fingerprint.length; i += 2) {
+            long size = buffer.getLong();
+            long modifiedTime = buffer.getLong();
+            if(fingerprint[i] != -1 && (fingerprint[i] != size || fingerprint[i + 1] != modifiedTime)) {
+                return null;
+            }
+        }
+        if(payloadLength != buffer.remaining()) {
+            return null;
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.duplicate());
+        if(checksum.getValue() != expectedChecksum) {
+            return null;
+        }
+
+        int airportCount = buffer.getInt();
+        int edgeCount = buffer.getInt();
+        String[] airportCodes = readStrings(buffer, airportCount);
+        String[] airfieldNames = readStrings(buffer, airportCount);
+        double[] latitudes = readDoubles(buffer, airportCount);
+        double[] longitudes = readDoubles(buffer, airportCount);
+        int[] parkingCosts = readInts(buffer, airportCount);
+        int[] edgeOffsets = readInts(buffer, airportCount + 1);
+        int[] edgeTargets = readInts(buffer, edgeCount);
+        double[] edgeDistances = readDoubles(buffer, edgeCount);
+        RouteNetwork network = new RouteNetwork(airportCodes, airfieldNames, latitudes, longitudes, parkingCosts, edgeOffsets, edgeTargets, edgeDistances);
+
+        int airfieldCount = buffer.getInt();
+        String[] weatherAirfieldNames = readStrings(buffer, airfieldCount);
+        long firstSlotTime = buffer.getLong();
+        int slotCount = buffer.getInt();
+        double[] multipliers = readDoubles(buffer, airfieldCount * slotCount);
+        WeatherTable weather = new WeatherTable(weatherAirfieldNames, firstSlotTime, slotCount, multipliers);
+
+        return new NetworkSnapshot(network, weather);
+    }
+
+    // Load the network and weather from the snapshot if it is up to date, otherwise from the airports, directions and weather CSV files.
+    // The snapshot is written again after loading the CSV files, no snapshot is used if snapshotPath is null.
+    // Writing the snapshot is best-effort: if it fails the run goes on with the loaded CSV files
+    public static NetworkSnapshot loadOrCompile(Path snapshotPath, Path[] sourcePaths) throws IOException {
+        if(snapshotPath != null) {
+            NetworkSnapshot snapshot = load(snapshotPath, sourcePaths);
+            if(snapshot != null) {
+                return snapshot;
+            }
+        }
+        RouteNetwork network = CsvLoader.loadNetwork(sourcePaths[0], sourcePaths[1]);
+        WeatherTable weather = CsvLoader.loadWeather(sourcePaths[2]);
+        if(snapshotPath != null) {
+            try {
+                write(snapshotPath, network, weather, sourcePaths);
+            }
+            catch(IOException e) {
+                System.err.println("Warning: could not write the snapshot " + snapshotPath + ": " + e);
+            }
+        }
+        return new NetworkSnapshot(network, weather);
+    }
+
+    // Size and modification time of every source file, -1 for the files which do not exist
+    private static long[] getSourceFingerprint(Path[] sourcePaths) throws IOException {
+        long[] fingerprint = new long[6];
+        for(int i = 0; i < 3; i++) {
+            if(i < sourcePaths.length && Files.isRegularFile(sourcePaths[i])) {
+                fingerprint[2 * i] = Files.size(sourcePaths[i]);
+                fingerprint[2 * i + 1] = Files.getLastModifiedTime(sourcePaths[i]).toMillis();
+            }
+            else {
+                fingerprint[2 * i] = -1;
+                fingerprint[2 * i + 1] = -1;
+            }
+        }
+        return fingerprint;
+    }
+
+    private static void writeStrings(DataOutputStream output, String[] strings) throws IOException {
+        for(String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static void writeInts(DataOutputStream output, int[] values) throws IOException {
+        for(int value : values) {
+            output.writeInt(value);
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream output, double[] values) throws IOException {
+        for(double value : values) {
+            output.writeDouble(value);
+        }
+    }
+
+    private static String[] readStrings(ByteBuffer buffer, int count) {
+        String[] strings = new String[count];
+        for(int i = 0; i < count; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static int[] readInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + 4 * count);
+        return values;
+    }
+
+    private static double[] readDoubles(ByteBuffer buffer, int count) {
+        double[] values = new double[count];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + 8 * count);
+        return values;
+    }
+}
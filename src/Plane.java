@@ -1,63 +1,111 @@
-// Plane class for creating the plane object and getting flight duration in hours according to the plane model
+// Plane class for creating the plane object and getting flight duration according to the plane model.
+// A model is a table of distance tiers: a flight takes the duration of the first tier whose maximum distance is not less than its distance
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class Plane {
     public String model;
 
-    public Plane(String model) {
-        this.model = model;
+    // Tier i covers distances up to tierMaxDistances[i], the last tier has no maximum distance. Durations are whole 6-hour weather slots
+    private final double[] tierMaxDistances;
+    private final int[] tierDurationSlots;
+
+    // Plane models the missions can be accomplished with, more can be registered from a planes file
+    private static final ConcurrentHashMap<String, Plane> PLANES = new ConcurrentHashMap<>();
+
+    static {
+        register(new Plane("Carreidas 160", new double[] {175, 350}, new int[] {1, 2, 3}));
+        register(new Plane("Orion III", new double[] {1500, 3000}, new int[] {1, 2, 3}));
+        register(new Plane("Skyfleet S570", new double[] {500, 1000}, new int[] {1, 2, 3}));
+        register(new Plane("T-16 Skyhopper", new double[] {2500, 5000}, new int[] {1, 2, 3}));
     }
 
-    // Get the duration of flight according to the plane model in seconds
-    public long getDuration(double distance) {
-        switch (this.model){
-            case "Carreidas 160" -> {
-                return getDurationCarreidas(distance);
-            }
-            case "Orion III" -> {
-                return getDurationOrion(distance);
-            }
-            case "Skyfleet S570" -> {
-                return getDurationSkyfleet(distance);
+    public Plane(String model, double[] tierMaxDistances, int[] tierDurationSlots) {
+        if(tierDurationSlots.length != tierMaxDistances.length + 1) {
+            throw new IllegalArgumentException("Plane " + model + " should have one more duration than maximum distances");
+        }
+        for(int tier = 0; tier < tierDurationSlots.length; tier++) {
+            if(tierDurationSlots[tier] < 1 || tierDurationSlots[tier] > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Flight duration of plane " + model + " should be 1 to " + Byte.MAX_VALUE + " slots: " + tierDurationSlots[tier]);
             }
-            case "T-16 Skyhopper" -> {
-                return getDurationSkyhopper(distance);
+            if(tier > 0 && tier < tierMaxDistances.length && !(tierMaxDistances[tier] > tierMaxDistances[tier - 1])) {
+                throw new IllegalArgumentException("Maximum distances of plane " + model + " should be increasing");
             }
         }
-        return -1;
+        this.model = model;
+        this.tierMaxDistances = tierMaxDistances.clone();
+        this.tierDurationSlots = tierDurationSlots.clone();
     }
 
-    private long getDurationCarreidas(double distance) {
-        if(distance <= 175)
-            return 6 * 3600;
-        else if(distance <= 350)
-            return 12 * 3600;
-        else
-            return 18 * 3600;
+    // Get the plane of a model, null if the model is not known
+    public static Plane forModel(String model) {
+        return PLANES.get(model);
     }
 
-    private long getDurationOrion(double distance) {
-        if(distance <= 1500)
-            return 6 * 3600;
-        else if(distance <= 3000)
-            return 12 * 3600;
-        else
-            return 18 * 3600;
+    // Make a plane model available to the missions, replacing a model with the same name
+    public static void register(Plane plane) {
+        PLANES.put(plane.model, plane);
     }
 
-    private long getDurationSkyfleet(double distance) {
-        if(distance <= 500)
-            return 6 * 3600;
-        else if(distance <= 1000)
-            return 12 * 3600;
-        else
-            return 18 * 3600;
+    // Get the duration of flight according to the plane model in 6-hour slots
+    public int getDurationSlots(double distance) {
+        int tier = 0;
+        while(tier < this.tierMaxDistances.length && distance > this.tierMaxDistances[tier]) {
+            tier++;
+        }
+        return this.tierDurationSlots[tier];
     }
 
-    private long getDurationSkyhopper(double distance) {
-        if(distance <= 2500)
-            return 6 * 3600;
-        else if(distance <= 5000)
-            return 12 * 3600;
-        else
-            return 18 * 3600;
+    // Get the duration of flight according to the plane model in seconds
+    public long getDuration(double distance) {
+        return getDurationSlots(distance) * WeatherTable.SLOT_LENGTH;
+    }
+
+    // Read plane models from a CSV file with a row per tier, tiers of a model in increasing distance and its last tier without MaxDistance:
+    //     PlaneModel,MaxDistance,DurationHours
+    //     Carreidas 160,175,6
+    //     Carreidas 160,350,12
+    //     Carreidas 160,,18
+    public static List<Plane> readPlanes(Path planesPath) throws IOException {
+        LinkedHashMap<String, ArrayList<String[]>> tiers = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(planesPath);
+        for(int line = 1; line < lines.size(); line++) {
+            if(lines.get(line).isBlank()) {
+                continue;
+            }
+            String[] fields = lines.get(line).split(",", -1);
+            if(fields.length != 3) {
+                throw new IllegalArgumentException(planesPath + ":" + (line + 1) + ": expected PlaneModel,MaxDistance,DurationHours");
+            }
+            tiers.computeIfAbsent(fields[0].strip(), model -> new ArrayList<>()).add(fields);
+        }
+
+        ArrayList<Plane> planes = new ArrayList<>();
+        for(String model : tiers.keySet()) {
+            ArrayList<String[]> modelTiers = tiers.get(model);
+            double[] tierMaxDistances = new double[modelTiers.size() - 1];
+            int[] tierDurationSlots = new int[modelTiers.size()];
+            for(int tier = 0; tier < modelTiers.size(); tier++) {
+                String maxDistance = modelTiers.get(tier)[1].strip();
+                if(maxDistance.isEmpty() != (tier == modelTiers.size() - 1)) {
+                    throw new IllegalArgumentException(planesPath + ": only the last tier of plane " + model + " should have no MaxDistance");
+                }
+                if(tier < tierMaxDistances.length) {
+                    tierMaxDistances[tier] = Double.parseDouble(maxDistance);
+                }
+                long durationSeconds = Math.round(Double.parseDouble(modelTiers.get(tier)[2].strip()) * 3600);
+                if(durationSeconds % WeatherTable.SLOT_LENGTH != 0) {
+                    throw new IllegalArgumentException(planesPath + ": flight duration of plane " + model + " should be a multiple of 6 hours: " + modelTiers.get(tier)[2].strip());
+                }
+                tierDurationSlots[tier] = (int) (durationSeconds / WeatherTable.SLOT_LENGTH);
+            }
+            planes.add(new Plane(model, tierMaxDistances, tierDurationSlots));
+        }
+        return planes;
     }
 }
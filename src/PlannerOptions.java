@@ -0,0 +1,89 @@
+// Optional arguments given after the file names, shared by the batch and the server modes
+import java.nio.file.Path;
+
+public class PlannerOptions {
+    public int threadCount = 1;  // Number of worker threads that carry out the missions
+    public boolean virtualThreads = false;  // Run the workers on virtual threads
+    public CostLowerBound.Mode searchMode = CostLowerBound.Mode.DIJKSTRA;  // How the searches are directed towards the destination
+    public int landmarkCount = 8;  // Number of landmark airports in the landmarks search mode
+    public Task1Planner.Engine task1Engine = Task1Planner.Engine.DIJKSTRA;  // How task 1 missions are solved
+    public Task2Planner.Engine task2Engine = Task2Planner.Engine.DIJKSTRA;  // How task 2 missions are solved
+    public long task1CacheBytes = Task1Planner.DEFAULT_CACHE_BYTES;  // Memory limit of the cached task 1 shortest path trees
+    public boolean searchStats = false;  // Print the number of settled airports and states
+    public Path snapshotPath = null;  // Binary snapshot of the network and weather, used instead of the CSV files while it is up to date
+    public Path planesPath = null;  // CSV file of plane models added to the built-in ones
+    public Path metricsPath = null;  // File the per-mission metrics are written to, no metrics are recorded if null
+
+    // Server mode
+    public int port = 7070;  // Local port the server listens on
+    public int maxPendingRequests = 1024;  // Requests read but not answered yet, reading stops while the limit is reached
+    public long task2CacheBytes = Task2ResultCache.DEFAULT_CACHE_BYTES;  // Memory limit of the cached task 2 answers
+
+    // Parse the options in args starting from the given index
+    public static PlannerOptions parse(String[] args, int start) {
+        PlannerOptions options = new PlannerOptions();
+        for(int i = start; i < args.length; i++) {
+            if(args[i].startsWith("--threads=")) {
+                options.threadCount = Integer.parseInt(args[i].substring("--threads=".length()));
+            }
+            else if(args[i].equals("--virtual-threads")) {
+                options.virtualThreads = true;
+            }
+            else if(args[i].startsWith("--search=")) {
+                switch (args[i].substring("--search=".length())) {
+                    case "dijkstra" -> options.searchMode = CostLowerBound.Mode.DIJKSTRA;
+                    case "astar" -> options.searchMode = CostLowerBound.Mode.GREAT_CIRCLE;
+                    case "landmarks" -> options.searchMode = CostLowerBound.Mode.LANDMARKS;
+                    default -> throw new IllegalArgumentException("Unexpected search mode: " + args[i]);
+                }
+            }
+            else if(args[i].startsWith("--task1-engine=")) {
+                switch (args[i].substring("--task1-engine=".length())) {
+                    case "dijkstra" -> options.task1Engine = Task1Planner.Engine.DIJKSTRA;
+                    case "cch" -> options.task1Engine = Task1Planner.Engine.CCH;
+                    default -> throw new IllegalArgumentException("Unexpected task 1 engine: " + args[i]);
+                }
+            }
+            else if(args[i].startsWith("--task2-engine=")) {
+                switch (args[i].substring("--task2-engine=".length())) {
+                    case "dijkstra" -> options.task2Engine = Task2Planner.Engine.DIJKSTRA;
+                    case "sweep" -> options.task2Engine = Task2Planner.Engine.SWEEP;
+                    case "auto" -> options.task2Engine = Task2Planner.Engine.AUTO;
+                    case "frontier" -> options.task2Engine = Task2Planner.Engine.FRONTIER;
+                    default -> throw new IllegalArgumentException("Unexpected task 2 engine: " + args[i]);
+                }
+            }
+            else if(args[i].startsWith("--landmarks=")) {
+                options.landmarkCount = Integer.parseInt(args[i].substring("--landmarks=".length()));
+            }
+            else if(args[i].startsWith("--task1-cache-mb=")) {
+                options.task1CacheBytes = Long.parseLong(args[i].substring("--task1-cache-mb=".length())) << 20;
+            }
+            else if(args[i].startsWith("--snapshot=")) {
+                options.snapshotPath = Path.of(args[i].substring("--snapshot=".length()));
+            }
+            else if(args[i].startsWith("--planes=")) {
+                options.planesPath = Path.of(args[i].substring("--planes=".length()));
+            }
+            else if(args[i].startsWith("--metrics=")) {
+                options.metricsPath = Path.of(args[i].substring("--metrics=".length()));
+            }
+            else if(args[i].equals("--search-stats")) {
+                options.searchStats = true;
+            }
+            else if(args[i].startsWith("--port=")) {
+                options.port = Integer.parseInt(args[i].substring("--port=".length()));
+            }
+            else if(args[i].startsWith("--max-pending=")) {
+                options.maxPendingRequests = Integer.parseInt(args[i].substring("--max-pending=".length()));
+            }
+            else if(args[i].startsWith("--task2-cache-mb=")) {
+                options.task2CacheBytes = Long.parseLong(args[i].substring("--task2-cache-mb=".length())) << 20;
+            }
+            else {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,285 @@
+// Keep a loaded network in memory and answer missions sent over a local TCP socket, one request per line.
+// A request mirrors a line of the missions file, optionally preceded by TASK1, TASK2 or FRONTIER and followed by a plane model:
+//     [TASK1|TASK2|FRONTIER] <AirportOrigin> <AirportDestination> <TimeOrigin> <Deadline> [<plane model>]
+// A line with only a plane model sets the plane of the following requests of the connection, like the first line of the missions file,
+// so a missions file can be sent as it is. Every request is answered with its task 1 line and/or task 2 line in the format of the .out files,
+// or with a line starting with ERROR. Requests are solved concurrently while the replies of a connection are written in request order.
+// A request preceded by FRONTIER is answered with a line "FRONTIER <n>" followed by the n itineraries of the task 2 Pareto frontier up to the Deadline,
+// one "<ArrivalTime> <path>" line each, from the cheapest to the earliest arriving.
+// A line "WEATHER <AirfieldName> <Time> <WeatherCode>" corrects the weather of the running planner once the earlier requests of the connection
+// are answered. The cached task 1 trees and task 2 answers it can change are dropped, and it is answered with "WEATHER <task 1 trees dropped> <task 2 answers dropped>"
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class PlannerServer implements AutoCloseable {
+    private final MyGraph graph;
+    private final ServerSocket serverSocket;
+    private final ExecutorService workers;
+    // One workspace per worker thread. A request takes one while it is solved, which also limits the concurrent searches
+    // to the thread count when the workers are virtual threads
+    private final LinkedBlockingQueue<SearchWorkspace> workspaces;
+
+    // Permits of the requests which can be read before their replies are written. Reading a connection waits while there are none left
+    private final Semaphore pendingRequests;
+
+    // Task 2 answers of earlier requests, dropped when the weather they depend on changes
+    private final Task2ResultCache task2Results;
+
+    // Requests are answered under the read lock, weather corrections change the shared weather table under the write lock
+    private final ReentrantReadWriteLock weatherLock;
+
+    public PlannerServer(MyGraph graph, PlannerOptions options) throws IOException {
+        if(options.threadCount < 1) {
+            throw new IllegalArgumentException("Thread count should be at least 1: " + options.threadCount);
+        }
+        this.graph = graph;
+        this.workers = MissionRunner.createExecutor(options.threadCount, options.virtualThreads);
+        this.serverSocket = new ServerSocket(options.port, 50, InetAddress.getLoopbackAddress());
+        this.workspaces = new LinkedBlockingQueue<>();
+        for(int i = 0; i < options.threadCount; i++) {
+            this.workspaces.add(new SearchWorkspace(graph));
+        }
+        this.pendingRequests = new Semaphore(options.maxPendingRequests);
+        this.task2Results = new Task2ResultCache(graph, options.task2CacheBytes);
+        this.weatherLock = new ReentrantReadWriteLock();
+    }
+
+    public int getPort() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    // Accept connections until the server is closed
+    public void serve() throws IOException {
+        while(!this.serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = this.serverSocket.accept();
+            }
+            catch(IOException e) {
+                if(this.serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            Thread reader = new Thread(() -> handleConnection(socket), "planner-connection-" + socket.getPort());
+            reader.setDaemon(true);
+            reader.start();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.serverSocket.close();
+        this.workers.shutdownNow();
+    }
+
+    // Read the requests of a connection and pass their replies to the writer of the connection in request order
+    private void handleConnection(Socket socket) {
+        LinkedBlockingQueue<CompletableFuture<String>> replies = new LinkedBlockingQueue<>();
+        CompletableFuture<String> endOfReplies = CompletableFuture.completedFuture(null);
+        Thread writer = new Thread(() -> writeReplies(socket, replies, endOfReplies), "planner-replies-" + socket.getPort());
+        writer.setDaemon(true);
+        writer.start();
+
+        // The reader is not closed here, closing the input stream of a socket closes the socket before the writer is done
+        try {
+            BufferedReader input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Plane plane = null;  // Plane of the requests which do not name one
+            CompletableFuture<String> lastReply = endOfReplies;
+            String line;
+            while((line = input.readLine()) != null) {
+                line = line.strip();
+                if(line.isEmpty()) {
+                    continue;
+                }
+                Plane linePlane = Plane.forModel(line);
+                if(linePlane != null) {
+                    plane = linePlane;
+                    continue;
+                }
+                if(line.regionMatches(true, 0, "WEATHER ", 0, "WEATHER ".length())) {
+                    lastReply.join();  // Earlier requests of the connection are answered with the weather they are sent with
+                    this.pendingRequests.acquire();
+                    lastReply = CompletableFuture.completedFuture(updateWeather(line.substring("WEATHER ".length()).strip()));
+                    replies.put(lastReply);
+                    continue;
+                }
+
+                this.pendingRequests.acquire();
+                String request = line;
+                Plane defaultPlane = plane;
+                lastReply = CompletableFuture.supplyAsync(() -> answer(request, defaultPlane), this.workers);
+                replies.put(lastReply);
+            }
+        }
+        catch(IOException | InterruptedException e) {
+            // The connection is closed by the client, the replies read so far are still written
+        }
+        finally {
+            replies.add(endOfReplies);
+        }
+    }
+
+    private void writeReplies(Socket socket, LinkedBlockingQueue<CompletableFuture<String>> replies, CompletableFuture<String> endOfReplies) {
+        try(socket; BufferedWriter output = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            while(true) {
+                CompletableFuture<String> reply = replies.take();
+                if(reply == endOfReplies) {
+                    return;
+                }
+                String text = reply.join();
+                this.pendingRequests.release();
+                output.write(text);
+                // Flush as soon as no reply is ready, so that replies are streamed instead of waiting for the connection to end
+                if(replies.isEmpty() || !replies.peek().isDone()) {
+                    output.flush();
+                }
+            }
+        }
+        catch(IOException | InterruptedException e) {
+            // The client closed the connection, requests still running release their permits below
+            for(CompletableFuture<String> reply : replies) {
+                if(reply != endOfReplies) {
+                    reply.whenComplete((text, error) -> this.pendingRequests.release());
+                }
+            }
+        }
+    }
+
+    // Change the weather of an airfield at a weather slot and drop the cached results it can change
+    private String updateWeather(String update) {
+        String[] fields = update.split(" +");
+        if(fields.length != 3) {
+            return "ERROR Expected WEATHER <AirfieldName> <Time> <WeatherCode>\n";
+        }
+        try {
+            WeatherTable weather = this.graph.weather;
+            int airfieldId = weather.getAirfieldId(fields[0]);
+            if(airfieldId == -1) {
+                return "ERROR Unexpected airfield: " + fields[0] + "\n";
+            }
+            long time = Long.parseLong(fields[1]);
+            int slot = weather.getSlot(time);
+            if(slot == -1) {
+                return "ERROR Weather time " + time + " is not a weather slot, weather is reported every " + WeatherTable.SLOT_LENGTH + " seconds from " + weather.firstSlotTime + "\n";
+            }
+            int weatherCode = Integer.parseInt(fields[2]);
+            int[] airports = this.graph.getAirfieldAirports(airfieldId);
+
+            this.weatherLock.writeLock().lock();
+            try {
+                double previousMultiplier = weather.setWeatherCode(airfieldId, slot, weatherCode);
+                double multiplier = weather.getMultiplierAtSlot(airfieldId, slot);
+                int task1Dropped = this.graph.task1Planner.invalidateWeather(airports, slot);
+                int task2Dropped = this.task2Results.invalidateWeather(airfieldId, slot, airports, previousMultiplier, multiplier);
+                return "WEATHER " + task1Dropped + " " + task2Dropped + "\n";
+            }
+            finally {
+                this.weatherLock.writeLock().unlock();
+            }
+        }
+        catch(RuntimeException e) {
+            return "ERROR " + e.getMessage() + "\n";
+        }
+    }
+
+    // Solve a request with a free workspace and return its reply lines
+    private String answer(String request, Plane defaultPlane) {
+        SearchWorkspace workspace;
+        try {
+            workspace = this.workspaces.take();
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "ERROR Server is shutting down\n";
+        }
+        try {
+            return answer(request, defaultPlane, workspace);
+        }
+        finally {
+            this.workspaces.add(workspace);
+        }
+    }
+
+    private String answer(String request, Plane defaultPlane, SearchWorkspace workspace) {
+        this.weatherLock.readLock().lock();
+        try {
+            String[] fields = request.split(" +", 2);
+            if(fields.length < 2) {
+                return "ERROR Expected <AirportOrigin> <AirportDestination> <TimeOrigin> <Deadline> [<plane model>]\n";
+            }
+            boolean task1 = true;
+            boolean task2 = true;
+            boolean frontier = false;
+            if(fields[0].equalsIgnoreCase("FRONTIER")) {
+                task1 = false;
+                task2 = false;
+                frontier = true;
+                request = fields[1];
+            }
+            else if(fields[0].equalsIgnoreCase("TASK1")) {
+                task2 = false;
+                request = fields[1];
+            }
+            else if(fields[0].equalsIgnoreCase("TASK2")) {
+                task1 = false;
+                request = fields[1];
+            }
+
+            String[] missionDetails = request.split(" +", 5);
+            if(missionDetails.length < 4) {
+                return "ERROR Expected <AirportOrigin> <AirportDestination> <TimeOrigin> <Deadline> [<plane model>]\n";
+            }
+            int airportOrigin = this.graph.network.getAirportId(missionDetails[0]);
+            int airportDestination = this.graph.network.getAirportId(missionDetails[1]);
+            if(airportOrigin == -1 || airportDestination == -1) {
+                return "ERROR Unexpected airport: " + (airportOrigin == -1 ? missionDetails[0] : missionDetails[1]) + "\n";
+            }
+            long timeOrigin = Long.parseLong(missionDetails[2]);
+            long deadline = Long.parseLong(missionDetails[3]);
+            Plane plane = missionDetails.length == 5 ? Plane.forModel(missionDetails[4]) : defaultPlane;
+            if((task2 || frontier) && plane == null) {
+                return "ERROR Unexpected plane model: " + (missionDetails.length == 5 ? missionDetails[4] : "no plane model is given") + "\n";
+            }
+
+            StringBuilder reply = new StringBuilder();
+            if(task1) {
+                reply.append(this.graph.task1Planner.findShortestPath(airportOrigin, timeOrigin, airportDestination, workspace)).append('\n');
+            }
+            if(task2) {
+                String task2Result = this.task2Results.get(airportOrigin, timeOrigin, airportDestination, deadline, plane);
+                if(task2Result == null) {
+                    task2Result = this.graph.findShortestPathTask2(airportOrigin, timeOrigin, airportDestination, deadline, plane, workspace);
+                    this.task2Results.put(airportOrigin, timeOrigin, airportDestination, deadline, plane, task2Result);
+                }
+                reply.append(task2Result).append('\n');
+            }
+            if(frontier) {
+                Task2Frontier itineraries = this.graph.findFrontierTask2(airportOrigin, timeOrigin, airportDestination, deadline, plane, workspace);
+                reply.append("FRONTIER ").append(itineraries.size()).append('\n');
+                for(int i = 0; i < itineraries.size(); i++) {
+                    reply.append(itineraries.arrivalTimes[i]).append(' ').append(itineraries.paths[i]).append('\n');
+                }
+            }
+            return reply.toString();
+        }
+        catch(RuntimeException e) {
+            return "ERROR " + e.getMessage() + "\n";
+        }
+        finally {
+            this.weatherLock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+// Immutable compressed sparse row (CSR) representation of the route network, built once by "CsvLoader" or read from a "NetworkSnapshot"
+import java.util.Arrays;
+import java.util.HashMap;
+
+public class RouteNetwork {
+    // Airport features indexed by dense airport id
+    public final int airportCount;
+    public final String[] airportCodes;
+    public final String[] airfieldNames;
+    public final double[] latitudes;
+    public final double[] longitudes;
+    public final int[] parkingCosts;
+
+    // Directions leaving airport i are stored in edgeTargets[edgeOffsets[i]] ... edgeTargets[edgeOffsets[i + 1] - 1]
+    public final int[] edgeOffsets;
+    public final int[] edgeTargets;
+    public final double[] edgeDistances;  // Haversine distance of every direction, calculated once
+
+    // Directions arriving at airport i are reverseEdges[reverseEdgeOffsets[i]] ... reverseEdges[reverseEdgeOffsets[i + 1] - 1],
+    // given as indices of the directions above, reverseEdgeSources holds the airport each of them leaves from
+    public final int[] reverseEdgeOffsets;
+    public final int[] reverseEdges;
+    public final int[] reverseEdgeSources;
+
+    // Map airport codes to their dense ids, only used while resolving missions
+    private final HashMap<String, Integer> airportIds;
+
+    public RouteNetwork(String[] airportCodes, String[] airfieldNames, double[] latitudes, double[] longitudes, int[] parkingCosts, int[] edgeOffsets, int[] edgeTargets) {
+        this(airportCodes, airfieldNames, latitudes, longitudes, parkingCosts, edgeOffsets, edgeTargets, calculateEdgeDistances(latitudes, longitudes, edgeOffsets, edgeTargets));
+    }
+
+    // Create the network with already calculated edge distances, used when the network is loaded from a snapshot
+    public RouteNetwork(String[] airportCodes, String[] airfieldNames, double[] latitudes, double[] longitudes, int[] parkingCosts, int[] edgeOffsets, int[] edgeTargets, double[] edgeDistances) {
+        this.airportCount = airportCodes.length;
+        this.airportCodes = airportCodes;
+        this.airfieldNames = airfieldNames;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.parkingCosts = parkingCosts;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeTargets = edgeTargets;
+        this.edgeDistances = edgeDistances;
+
+        this.reverseEdgeOffsets = new int[this.airportCount + 1];
+        for(int edge = 0; edge < edgeTargets.length; edge++) {
+            this.reverseEdgeOffsets[edgeTargets[edge] + 1]++;
+        }
+        for(int airport = 0; airport < this.airportCount; airport++) {
+            this.reverseEdgeOffsets[airport + 1] += this.reverseEdgeOffsets[airport];
+        }
+        this.reverseEdges = new int[edgeTargets.length];
+        this.reverseEdgeSources = new int[edgeTargets.length];
+        int[] nextReverseEdge = Arrays.copyOf(this.reverseEdgeOffsets, this.airportCount);
+        for(int airport = 0; airport < this.airportCount; airport++) {
+            for(int edge = edgeOffsets[airport]; edge < edgeOffsets[airport + 1]; edge++) {
+                int reverseEdge = nextReverseEdge[edgeTargets[edge]]++;
+                this.reverseEdges[reverseEdge] = edge;
+                this.reverseEdgeSources[reverseEdge] = airport;
+            }
+        }
+
+        this.airportIds = new HashMap<>();
+        for(int airport = 0; airport < this.airportCount; airport++) {
+            this.airportIds.put(airportCodes[airport], airport);
+        }
+    }
+
+    private static double[] calculateEdgeDistances(double[] latitudes, double[] longitudes, int[] edgeOffsets, int[] edgeTargets) {
+        double[] edgeDistances = new double[edgeTargets.length];
+        for(int airport = 0; airport < latitudes.length; airport++) {
+            for(int edge = edgeOffsets[airport]; edge < edgeOffsets[airport + 1]; edge++) {
+                int neighbor = edgeTargets[edge];
+                edgeDistances[edge] = Airport.calculateDistance(latitudes[airport], longitudes[airport], latitudes[neighbor], longitudes[neighbor]);
+            }
+        }
+        return edgeDistances;
+    }
+
+    // Get the dense id of an airport, -1 if the airport is not in the network
+    public int getAirportId(String airportCode) {
+        Integer airportId = this.airportIds.get(airportCode);
+        return airportId == null ? -1 : airportId;
+    }
+
+    public int getEdgeCount() {
+        return this.edgeTargets.length;
+    }
+}
@@ -0,0 +1,52 @@
+// Work done by the searches of a workspace. The searches count in local variables and add them here once per search,
+// so keeping the counters costs nothing per expanded state. All counts are totals over the searches except maxHeapSize, which is the
+// largest heap since it was last reset, so that it can be measured per group of missions
+public class SearchCounters {
+    public long settledCount;  // Airports (task 1) or airport - slot states (task 2) taken from the heap and expanded
+    public long heapPushCount;  // Task 1 adds an airport to the heap once, a lower cost moves it up in place without a push
+    public long heapPollCount;
+    public long costTablePrunedCount;  // Task 2 flights and parks dropped as their state is already reached with a less cost
+    public long deadlineRejectedCount;  // Task 2 flights and parks dropped as they cannot reach the destination before the deadline
+    public long parkExpansionCount;  // Task 2 parking operations added to the heap
+    public int maxHeapSize;  // Largest heap of the searches since the last "resetMaxHeapSize", 0 if none of them used a heap
+
+    public void resetMaxHeapSize() {
+        this.maxHeapSize = 0;
+    }
+
+    public SearchCounters copy() {
+        SearchCounters copy = new SearchCounters();
+        copy.settledCount = this.settledCount;
+        copy.heapPushCount = this.heapPushCount;
+        copy.heapPollCount = this.heapPollCount;
+        copy.costTablePrunedCount = this.costTablePrunedCount;
+        copy.deadlineRejectedCount = this.deadlineRejectedCount;
+        copy.parkExpansionCount = this.parkExpansionCount;
+        copy.maxHeapSize = this.maxHeapSize;
+        return copy;
+    }
+
+    // Counts of the searches done since the given copy of these counters was taken. The largest heap is only the one of these searches
+    // if "resetMaxHeapSize" was called before taking the copy
+    public SearchCounters since(SearchCounters earlier) {
+        SearchCounters difference = new SearchCounters();
+        difference.settledCount = this.settledCount - earlier.settledCount;
+        difference.heapPushCount = this.heapPushCount - earlier.heapPushCount;
+        difference.heapPollCount = this.heapPollCount - earlier.heapPollCount;
+        difference.costTablePrunedCount = this.costTablePrunedCount - earlier.costTablePrunedCount;
+        difference.deadlineRejectedCount = this.deadlineRejectedCount - earlier.deadlineRejectedCount;
+        difference.parkExpansionCount = this.parkExpansionCount - earlier.parkExpansionCount;
+        difference.maxHeapSize = this.maxHeapSize;  // Reset when the copy was taken, so it only covers the later searches
+        return difference;
+    }
+
+    public void add(SearchCounters other) {
+        this.settledCount += other.settledCount;
+        this.heapPushCount += other.heapPushCount;
+        this.heapPollCount += other.heapPollCount;
+        this.costTablePrunedCount += other.costTablePrunedCount;
+        this.deadlineRejectedCount += other.deadlineRejectedCount;
+        this.parkExpansionCount += other.parkExpansionCount;
+        this.maxHeapSize = Math.max(this.maxHeapSize, other.maxHeapSize);
+    }
+}
@@ -0,0 +1,12 @@
+// Reusable search state of a single thread. A loaded "MyGraph" is read-only and shared, while every thread searches with its own workspace
+public class SearchWorkspace {
+    public final Task1Search task1Search;
+    public final Task2Search task2Search;
+    public final Task2Sweep task2Sweep;
+
+    public SearchWorkspace(MyGraph graph) {
+        this.task1Search = new Task1Search(graph);
+        this.task2Search = new Task2Search(graph);
+        this.task2Sweep = new Task2Sweep(graph);
+    }
+}
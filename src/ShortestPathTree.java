@@ -0,0 +1,45 @@
+// Least costs and previous airports of every airport reachable from an origin, with all flights happening at the same weather slot
+public class ShortestPathTree {
+    public final int airportOrigin;
+    public final int slot;  // Weather slot of the flights
+    public final double[] costs;  // Double.MAX_VALUE for the airports which can not be reached
+    public final int[] previousAirports;
+
+    public ShortestPathTree(int airportOrigin, int slot, double[] costs, int[] previousAirports) {
+        this.airportOrigin = airportOrigin;
+        this.slot = slot;
+        this.costs = costs;
+        this.previousAirports = previousAirports;
+    }
+
+    // Approximate memory used by a tree of a network with the given number of airports
+    public static long getSizeInBytes(int airportCount) {
+        return 64 + 12L * airportCount;
+    }
+
+    public String getPath(String[] airportCodes, int airportDestination) {
+        if(this.costs[airportDestination] == Double.MAX_VALUE) {
+            return "No possible solution.";
+        }
+        return formatPath(airportCodes, this.previousAirports, this.costs[airportDestination], airportDestination);
+    }
+
+    // Write the airport codes from the origin to the destination by following the previous airports, followed by the total cost
+    public static String formatPath(String[] airportCodes, int[] previousAirports, double cost, int airportDestination) {
+        int pathLength = 0;
+        for(int airport = airportDestination; airport != -1; airport = previousAirports[airport]) {
+            pathLength++;
+        }
+        String[] path = new String[pathLength];
+        for(int airport = airportDestination; airport != -1; airport = previousAirports[airport]) {
+            path[--pathLength] = airportCodes[airport];
+        }
+
+        StringBuilder output = new StringBuilder();
+        for(String airportCode : path) {
+            output.append(airportCode).append(' ');
+        }
+        output.append(String.format("%.5f", cost));
+        return output.toString();
+    }
+}
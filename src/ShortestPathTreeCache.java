@@ -0,0 +1,101 @@
+// Bounded least recently used cache of Task 1 shortest path trees keyed by origin and weather slot, shared by the worker threads.
+// The keys of the cached trees are also indexed by slot, so that a weather change only visits the trees of its slot
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+public class ShortestPathTreeCache {
+    public final int capacity;  // Maximum number of trees kept in the cache
+
+    private final LinkedHashMap<Long, ShortestPathTree> trees;
+    private final HashMap<Integer, HashSet<Long>> slotKeys;  // Keys of the cached trees of every slot
+    private long hitCount;
+    private long missCount;
+
+    // Keep as many trees as fit in maxBytes, nothing is cached if it is 0
+    public ShortestPathTreeCache(int airportCount, long maxBytes) {
+        this.capacity = (int) Math.min(Integer.MAX_VALUE, maxBytes / ShortestPathTree.getSizeInBytes(airportCount));
+        this.slotKeys = new HashMap<>();
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ShortestPathTree> eldest) {
+                if(size() > ShortestPathTreeCache.this.capacity) {
+                    removeSlotKey(eldest.getValue().slot, eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Get the cached tree of an origin at a slot, null if it is not cached
+    public synchronized ShortestPathTree get(int airportOrigin, int slot) {
+        ShortestPathTree tree = this.trees.get(toKey(airportOrigin, slot));
+        if(tree == null) {
+            this.missCount++;
+        }
+        else {
+            this.hitCount++;
+        }
+        return tree;
+    }
+
+    public synchronized void put(ShortestPathTree tree) {
+        if(this.capacity > 0) {
+            long key = toKey(tree.airportOrigin, tree.slot);
+            this.slotKeys.computeIfAbsent(tree.slot, slot -> new HashSet<>()).add(key);
+            this.trees.put(key, tree);
+        }
+    }
+
+    // Remove the cached trees of a slot which are stale and return how many are removed
+    public synchronized int removeIf(int slot, Predicate<ShortestPathTree> stale) {
+        HashSet<Long> keys = this.slotKeys.get(slot);
+        if(keys == null) {
+            return 0;
+        }
+        ArrayList<Long> staleKeys = new ArrayList<>();
+        for(long key : keys) {
+            if(stale.test(this.trees.get(key))) {
+                staleKeys.add(key);
+            }
+        }
+        for(long key : staleKeys) {
+            this.trees.remove(key);
+            removeSlotKey(slot, key);
+        }
+        return staleKeys.size();
+    }
+
+    public synchronized void clear() {
+        this.trees.clear();
+        this.slotKeys.clear();
+    }
+
+    public synchronized int size() {
+        return this.trees.size();
+    }
+
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    private void removeSlotKey(int slot, long key) {
+        HashSet<Long> keys = this.slotKeys.get(slot);
+        keys.remove(key);
+        if(keys.isEmpty()) {
+            this.slotKeys.remove(slot);
+        }
+    }
+
+    private static long toKey(int airportOrigin, int slot) {
+        return ((long) airportOrigin << 32) | (slot & 0xffffffffL);
+    }
+}
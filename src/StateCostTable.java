@@ -0,0 +1,142 @@
+// Least known cost of the (airport, time slot) states of a Task 2 search. A dense array is used when the mission window is small
+// and an open addressing map with primitive long keys otherwise. Only the touched entries are cleared between missions
+import java.util.Arrays;
+
+public class StateCostTable {
+    // Largest airports * slots product that is stored in a dense array, 4M cells take 32 MB
+    public static final int DENSE_CELL_LIMIT = 1 << 22;
+
+    private static final long EMPTY_KEY = -1;
+
+    private int slotCount;  // Slots of the current mission window
+    private boolean dense;
+
+    // Dense mode, cost of airport a at slot s is stored at index a * slotCount + s
+    private double[] denseCosts;
+
+    // Map mode, linear probing over a power of two capacity
+    private long[] keys;
+    private double[] values;
+    private int size;
+
+    // Indices of the entries written since the last reset
+    private int[] touchedIndices;
+    private int touchedCount;
+
+    public StateCostTable() {
+        this.denseCosts = new double[0];
+        this.keys = new long[1024];
+        this.values = new double[1024];
+        Arrays.fill(this.keys, EMPTY_KEY);
+        this.touchedIndices = new int[1024];
+    }
+
+    // Clear the entries of the previous mission and prepare the table for a mission with the given number of airports and slots
+    public void reset(int airportCount, int slotCount) {
+        clear();
+        this.slotCount = slotCount;
+        this.dense = (long) airportCount * slotCount <= DENSE_CELL_LIMIT;
+        if(this.dense && this.denseCosts.length < airportCount * slotCount) {
+            this.denseCosts = new double[airportCount * slotCount];
+            Arrays.fill(this.denseCosts, Double.POSITIVE_INFINITY);
+        }
+    }
+
+    private void clear() {
+        if(this.dense) {
+            for(int i = 0; i < this.touchedCount; i++) {
+                this.denseCosts[this.touchedIndices[i]] = Double.POSITIVE_INFINITY;
+            }
+        }
+        else {
+            for(int i = 0; i < this.touchedCount; i++) {
+                this.keys[this.touchedIndices[i]] = EMPTY_KEY;
+            }
+            this.size = 0;
+        }
+        this.touchedCount = 0;
+    }
+
+    // Get the least known cost of an airport at a slot, infinity if the state is not visited yet
+    public double get(int airport, int slot) {
+        if(this.dense) {
+            return this.denseCosts[airport * this.slotCount + slot];
+        }
+        long key = toKey(airport, slot);
+        int mask = this.keys.length - 1;
+        for(int index = hash(key) & mask; ; index = (index + 1) & mask) {
+            long storedKey = this.keys[index];
+            if(storedKey == key) {
+                return this.values[index];
+            }
+            if(storedKey == EMPTY_KEY) {
+                return Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    public void put(int airport, int slot, double cost) {
+        if(this.dense) {
+            int index = airport * this.slotCount + slot;
+            if(this.denseCosts[index] == Double.POSITIVE_INFINITY) {
+                touch(index);
+            }
+            this.denseCosts[index] = cost;
+            return;
+        }
+        if(2 * (this.size + 1) > this.keys.length) {
+            grow();
+        }
+        long key = toKey(airport, slot);
+        int mask = this.keys.length - 1;
+        int index = hash(key) & mask;
+        while(this.keys[index] != EMPTY_KEY && this.keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        if(this.keys[index] == EMPTY_KEY) {
+            this.keys[index] = key;
+            this.size++;
+            touch(index);
+        }
+        this.values[index] = cost;
+    }
+
+    private void touch(int index) {
+        if(this.touchedCount == this.touchedIndices.length) {
+            this.touchedIndices = Arrays.copyOf(this.touchedIndices, this.touchedCount * 2);
+        }
+        this.touchedIndices[this.touchedCount++] = index;
+    }
+
+    // Double the capacity of the map and insert the touched entries again
+    private void grow() {
+        long[] oldKeys = this.keys;
+        double[] oldValues = this.values;
+        int[] oldIndices = Arrays.copyOf(this.touchedIndices, this.touchedCount);
+
+        this.keys = new long[oldKeys.length * 2];
+        this.values = new double[oldValues.length * 2];
+        Arrays.fill(this.keys, EMPTY_KEY);
+        this.touchedCount = 0;
+
+        int mask = this.keys.length - 1;
+        for(int oldIndex : oldIndices) {
+            int index = hash(oldKeys[oldIndex]) & mask;
+            while(this.keys[index] != EMPTY_KEY) {
+                index = (index + 1) & mask;
+            }
+            this.keys[index] = oldKeys[oldIndex];
+            this.values[index] = oldValues[oldIndex];
+            touch(index);
+        }
+    }
+
+    private static long toKey(int airport, int slot) {
+        return ((long) airport << 32) | (slot & 0xffffffffL);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
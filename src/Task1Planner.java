@@ -0,0 +1,180 @@
+// Plan Task 1 of a batch of missions. Task 1 flight costs only depend on the weather slot of timeOrigin, so missions with the same origin
+// and slot are grouped and answered from one shortest path tree. Trees are kept in a bounded cache to serve later missions as well.
+// With the contraction hierarchy engine every mission is a query of the hierarchy customized for its slot instead
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Task1Planner {
+    public static final long DEFAULT_CACHE_BYTES = 64L << 20;
+
+    public enum Engine {
+        DIJKSTRA,  // Search per mission or shortest path tree per group of missions
+        CCH  // Query of the customizable contraction hierarchy per mission
+    }
+
+    // Customization of the slots which have airports without weather, their missions are searched so that the missing weather is reported
+    private static final ContractionHierarchyMetric MISSING_WEATHER = new ContractionHierarchyMetric(-1, 0);
+
+    private final MyGraph graph;
+    public final Engine engine;
+    public final long cacheBytes;
+    public final ShortestPathTreeCache treeCache;
+
+    // Contraction hierarchy of the network and its customizations of the recently used slots, null for the dijkstra engine
+    private final ContractionHierarchy hierarchy;
+    private final LinkedHashMap<Integer, ContractionHierarchyMetric> metrics;
+
+    public Task1Planner(MyGraph graph, long cacheBytes, Engine engine) {
+        this.graph = graph;
+        this.engine = engine;
+        this.cacheBytes = cacheBytes;
+        this.treeCache = new ShortestPathTreeCache(graph.network.airportCount, engine == Engine.DIJKSTRA ? cacheBytes : 0);
+        if(engine == Engine.CCH) {
+            this.hierarchy = ContractionHierarchy.build(graph.network);
+            // The cache limit is used for the customizations, at least one is kept so that a slot is not customized for every mission
+            int metricCapacity = (int) Math.max(1, Math.min(Integer.MAX_VALUE, cacheBytes / ContractionHierarchyMetric.getSizeInBytes(this.hierarchy.getArcCount())));
+            this.metrics = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, ContractionHierarchyMetric> eldest) {
+                    return size() > metricCapacity;
+                }
+            };
+        }
+        else {
+            this.hierarchy = null;
+            this.metrics = null;
+        }
+    }
+
+    // Group the indices of the missions by origin and weather slot, groups are in the order of their first mission
+    public List<int[]> groupMissions(List<Mission> missions) {
+        LinkedHashMap<Long, ArrayList<Integer>> groups = new LinkedHashMap<>();
+        ArrayList<int[]> result = new ArrayList<>();
+        for(int i = 0; i < missions.size(); i++) {
+            Mission mission = missions.get(i);
+            int slot = this.graph.weather.getSlot(mission.timeOrigin);
+            if(slot == -1) {  // Off the weather grid, solved alone so that the search reports the time
+                result.add(new int[] {i});
+                continue;
+            }
+            groups.computeIfAbsent(((long) mission.airportOrigin << 32) | slot, key -> new ArrayList<>()).add(i);
+        }
+        for(ArrayList<Integer> group : groups.values()) {
+            result.add(group.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return result;
+    }
+
+    // Solve task 1 of a single mission. If the cache is enabled, the tree of its origin and slot is found and cached for later missions
+    public String findShortestPath(int airportOrigin, long timeOrigin, int airportDestination, SearchWorkspace workspace) {
+        int slot = this.graph.weather.getSlot(timeOrigin);
+        if(this.engine == Engine.CCH) {
+            ContractionHierarchyMetric metric = slot == -1 ? MISSING_WEATHER : getMetric(slot);
+            if(metric == MISSING_WEATHER) {
+                return workspace.task1Search.findShortestPath(airportOrigin, timeOrigin, airportDestination);
+            }
+            return workspace.task1Search.findShortestPath(this.hierarchy, metric, airportOrigin, airportDestination);
+        }
+        if(slot == -1 || this.treeCache.capacity == 0) {
+            return workspace.task1Search.findShortestPath(airportOrigin, timeOrigin, airportDestination);
+        }
+        ShortestPathTree tree = this.treeCache.get(airportOrigin, slot);
+        if(tree == null) {
+            tree = workspace.task1Search.findShortestPathTree(airportOrigin, slot);
+            this.treeCache.put(tree);
+        }
+        return tree.getPath(this.graph.network.airportCodes, airportDestination);
+    }
+
+    // Get the contraction hierarchy customized for a slot, customizing it if it is not cached
+    private ContractionHierarchyMetric getMetric(int slot) {
+        synchronized(this.metrics) {
+            ContractionHierarchyMetric metric = this.metrics.get(slot);
+            if(metric != null) {
+                return metric;
+            }
+        }
+        ContractionHierarchyMetric metric = this.hierarchy.customize(this.graph.weather, this.graph.airportAirfields, slot);
+        if(metric == null) {
+            metric = MISSING_WEATHER;
+        }
+        synchronized(this.metrics) {
+            this.metrics.put(slot, metric);
+        }
+        return metric;
+    }
+
+    // Drop the cached trees which are changed by new weather of the given airports at a slot, the weather table should already be updated.
+    // A tree is kept if none of its edges starts or ends at the airports and none of their other flights is now cheaper than the tree path,
+    // as then every least cost path stays the same. The customization of the slot is dropped. Returns the number of trees and customizations dropped
+    public int invalidateWeather(int[] airports, int slot) {
+        int droppedCount = this.treeCache.removeIf(slot, tree -> isChangedByWeather(tree, airports));
+        if(this.metrics != null) {
+            synchronized(this.metrics) {
+                if(this.metrics.remove(slot) != null) {
+                    droppedCount++;
+                }
+            }
+        }
+        return droppedCount;
+    }
+
+    private boolean isChangedByWeather(ShortestPathTree tree, int[] airports) {
+        RouteNetwork network = this.graph.network;
+        WeatherTable weather = this.graph.weather;
+        int[] airportAirfields = this.graph.airportAirfields;
+        for(int airport : airports) {
+            if(tree.costs[airport] == Double.MAX_VALUE) {  // Neither reached nor a neighbor of a reached airport
+                continue;
+            }
+            double multiplier = weather.getMultiplierAtSlot(airportAirfields[airport], tree.slot);
+            for(int edge = network.edgeOffsets[airport]; edge < network.edgeOffsets[airport + 1]; edge++) {
+                int neighborAirport = network.edgeTargets[edge];
+                double edgeCost = Airport.calculateFlightCost(multiplier, weather.getMultiplierAtSlot(airportAirfields[neighborAirport], tree.slot), network.edgeDistances[edge]);
+                if(tree.previousAirports[neighborAirport] == airport || tree.costs[airport] + edgeCost <= tree.costs[neighborAirport]) {
+                    return true;
+                }
+            }
+            for(int reverseEdge = network.reverseEdgeOffsets[airport]; reverseEdge < network.reverseEdgeOffsets[airport + 1]; reverseEdge++) {
+                int previousAirport = network.reverseEdgeSources[reverseEdge];
+                if(tree.costs[previousAirport] == Double.MAX_VALUE) {
+                    continue;
+                }
+                double edgeCost = Airport.calculateFlightCost(weather.getMultiplierAtSlot(airportAirfields[previousAirport], tree.slot), multiplier, network.edgeDistances[network.reverseEdges[reverseEdge]]);
+                if(tree.previousAirports[airport] == previousAirport || tree.costs[previousAirport] + edgeCost <= tree.costs[airport]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Solve task 1 of a group of missions sharing origin and slot, results are stored at the mission indices
+    public void solveGroup(List<Mission> missions, int[] group, String[] task1Results, SearchWorkspace workspace) {
+        if(this.engine == Engine.CCH) {
+            for(int missionIndex : group) {
+                Mission mission = missions.get(missionIndex);
+                task1Results[missionIndex] = findShortestPath(mission.airportOrigin, mission.timeOrigin, mission.airportDestination, workspace);
+            }
+            return;
+        }
+        Mission firstMission = missions.get(group[0]);
+        int slot = this.graph.weather.getSlot(firstMission.timeOrigin);
+        ShortestPathTree tree = slot == -1 ? null : this.treeCache.get(firstMission.airportOrigin, slot);
+
+        // A single mission without a cached tree is cheaper to answer with a search that stops at its destination
+        if(tree == null && (group.length == 1 || slot == -1)) {
+            task1Results[group[0]] = workspace.task1Search.findShortestPath(firstMission.airportOrigin, firstMission.timeOrigin, firstMission.airportDestination);
+            return;
+        }
+        if(tree == null) {
+            tree = workspace.task1Search.findShortestPathTree(firstMission.airportOrigin, slot);
+            this.treeCache.put(tree);
+        }
+        for(int missionIndex : group) {
+            task1Results[missionIndex] = tree.getPath(this.graph.network.airportCodes, missions.get(missionIndex).airportDestination);
+        }
+    }
+}
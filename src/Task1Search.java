@@ -0,0 +1,290 @@
+// Workspace for Task 1 searches. Costs and previous airports are kept in arrays indexed by airport id instead of the shared Airport objects.
+// The arrays are reused by every search of the workspace: an entry only holds a value of the current search if its stamp is the current
+// search epoch, so a search starts without clearing or allocating them
+import java.util.Arrays;
+
+public class Task1Search {
+    private final MyGraph graph;
+
+    // Work done by the searches of this workspace
+    public final SearchCounters counters;
+
+    // Dijkstra state, costs[a] and previousAirports[a] are set by the current search if costStamps[a] == epoch
+    private final IndexedMinHeap minHeap;
+    private double[] costs;
+    private int[] previousAirports;
+    private int[] costStamps;
+    private int[] settledStamps;
+    private int epoch;
+
+    // Costs from the origin and to the destination of the contraction hierarchy queries and the arcs they are reached with.
+    // Only the elimination tree parents of the origin and the destination are set by a query and they are reset afterwards
+    private double[] forwardCosts;
+    private double[] backwardCosts;
+    private int[] forwardArcs;
+    private int[] backwardArcs;
+
+    // Arcs and directions still to be unpacked while rebuilding a path of the contraction hierarchy, arc * 2 + 1 for the downward direction
+    private int[] unpackStack;
+
+    public Task1Search(MyGraph graph) {
+        this.graph = graph;
+        this.counters = new SearchCounters();
+        this.minHeap = new IndexedMinHeap();
+        this.costs = new double[0];
+        this.previousAirports = new int[0];
+        this.costStamps = new int[0];
+        this.settledStamps = new int[0];
+        this.forwardCosts = new double[0];
+        this.backwardCosts = new double[0];
+        this.forwardArcs = new int[0];
+        this.backwardArcs = new int[0];
+        this.unpackStack = new int[64];
+    }
+
+    // Find successive possible flight operations from origin to destination. There is no deadline and all flights are happening at TimeOrigin
+    public String findShortestPath(int airportOrigin, long timeOrigin, int airportDestination) {
+        if(!search(airportOrigin, timeOrigin, airportDestination, this.graph.lowerBound)) {
+            // Destination is not reachable from the origin
+            return "No possible solution.";
+        }
+        // Every airport on the path is reached by this search, so the previous airports are current up to the origin
+        return ShortestPathTree.formatPath(this.graph.network.airportCodes, this.previousAirports, this.costs[airportDestination], airportDestination);
+    }
+
+    // Find the least cost paths from the origin to every airport with all flights happening at the given weather slot
+    public ShortestPathTree findShortestPathTree(int airportOrigin, int slot) {
+        int airportCount = this.graph.network.airportCount;
+        search(airportOrigin, this.graph.weather.getSlotTime(slot), -1, null);
+
+        // The tree is cached and outlives this search, so it gets its own copy of the costs of the reached airports
+        double[] costs = new double[airportCount];
+        int[] previousAirports = new int[airportCount];
+        for(int airport = 0; airport < airportCount; airport++) {
+            boolean reached = this.costStamps[airport] == this.epoch;
+            costs[airport] = reached ? this.costs[airport] : Double.MAX_VALUE;
+            previousAirports[airport] = reached ? this.previousAirports[airport] : -1;
+        }
+        return new ShortestPathTree(airportOrigin, slot, costs, previousAirports);
+    }
+
+    // Find the least cost path with a contraction hierarchy customized for the weather slot of the mission instead of dijkstra.
+    // Both searches only go up to higher ranked airports, so they follow the elimination tree parents of the origin and the destination
+    // without a heap, and the path goes through the airport where they meet with the least total cost
+    public String findShortestPath(ContractionHierarchy hierarchy, ContractionHierarchyMetric metric, int airportOrigin, int airportDestination) {
+        RouteNetwork network = this.graph.network;
+        if(this.forwardCosts.length < network.airportCount) {
+            this.forwardCosts = new double[network.airportCount];
+            this.backwardCosts = new double[network.airportCount];
+            this.forwardArcs = new int[network.airportCount];
+            this.backwardArcs = new int[network.airportCount];
+            Arrays.fill(this.forwardCosts, Double.POSITIVE_INFINITY);
+            Arrays.fill(this.backwardCosts, Double.POSITIVE_INFINITY);
+        }
+        int[] eliminationParents = hierarchy.eliminationParents;
+
+        long settledCount = 0;
+        this.forwardCosts[airportOrigin] = 0;
+        for(int airport = airportOrigin; airport != -1; airport = eliminationParents[airport]) {
+            settledCount++;
+            double cost = this.forwardCosts[airport];
+            if(cost == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            for(int arc = hierarchy.arcOffsets[airport]; arc < hierarchy.arcOffsets[airport + 1]; arc++) {
+                int higherAirport = hierarchy.arcHigherAirports[arc];
+                if(cost + metric.upCosts[arc] < this.forwardCosts[higherAirport]) {
+                    this.forwardCosts[higherAirport] = cost + metric.upCosts[arc];
+                    this.forwardArcs[higherAirport] = arc;
+                }
+            }
+        }
+        this.backwardCosts[airportDestination] = 0;
+        for(int airport = airportDestination; airport != -1; airport = eliminationParents[airport]) {
+            settledCount++;
+            double cost = this.backwardCosts[airport];
+            if(cost == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            for(int arc = hierarchy.arcOffsets[airport]; arc < hierarchy.arcOffsets[airport + 1]; arc++) {
+                int higherAirport = hierarchy.arcHigherAirports[arc];
+                if(cost + metric.downCosts[arc] < this.backwardCosts[higherAirport]) {
+                    this.backwardCosts[higherAirport] = cost + metric.downCosts[arc];
+                    this.backwardArcs[higherAirport] = arc;
+                }
+            }
+        }
+
+        double leastCost = Double.POSITIVE_INFINITY;
+        int meetingAirport = -1;
+        for(int airport = airportOrigin; airport != -1; airport = eliminationParents[airport]) {
+            if(this.forwardCosts[airport] + this.backwardCosts[airport] < leastCost) {
+                leastCost = this.forwardCosts[airport] + this.backwardCosts[airport];
+                meetingAirport = airport;
+            }
+        }
+        String path = meetingAirport == -1 ? "No possible solution." : buildPath(hierarchy, metric, airportOrigin, airportDestination, meetingAirport);
+
+        for(int airport = airportOrigin; airport != -1; airport = eliminationParents[airport]) {
+            this.forwardCosts[airport] = Double.POSITIVE_INFINITY;
+        }
+        for(int airport = airportDestination; airport != -1; airport = eliminationParents[airport]) {
+            this.backwardCosts[airport] = Double.POSITIVE_INFINITY;
+        }
+        this.counters.settledCount += settledCount;
+        return path;
+    }
+
+    // Unpack the arcs up from the origin to the meeting airport and down to the destination into directions. The total cost is summed
+    // from the origin on like dijkstra does, so that the same path gives the same cost
+    private String buildPath(ContractionHierarchy hierarchy, ContractionHierarchyMetric metric, int airportOrigin, int airportDestination, int meetingAirport) {
+        // Arcs are pushed from the end of the path, so that the arc at the top of the stack always starts where the path written so far ends
+        int stackSize = 0;
+        for(int airport = meetingAirport; airport != airportDestination; airport = hierarchy.arcLowerAirports[this.backwardArcs[airport]]) {
+            stackSize = push(stackSize, this.backwardArcs[airport] * 2 + 1);
+        }
+        for(int i = 0, j = stackSize - 1; i < j; i++, j--) {
+            int entry = this.unpackStack[i];
+            this.unpackStack[i] = this.unpackStack[j];
+            this.unpackStack[j] = entry;
+        }
+        for(int airport = meetingAirport; airport != airportOrigin; airport = hierarchy.arcLowerAirports[this.forwardArcs[airport]]) {
+            stackSize = push(stackSize, this.forwardArcs[airport] * 2);
+        }
+
+        String[] airportCodes = this.graph.network.airportCodes;
+        StringBuilder path = new StringBuilder();
+        path.append(airportCodes[airportOrigin]).append(' ');
+        double cost = 0;
+        while(stackSize > 0) {
+            int entry = this.unpackStack[--stackSize];
+            int arc = entry >>> 1;
+            boolean down = (entry & 1) == 1;  // From the higher airport to the lower one
+            int lowerAirport = hierarchy.arcLowerAirports[arc];
+            int higherAirport = hierarchy.arcHigherAirports[arc];
+            int middleAirport = down ? metric.downMiddles[arc] : metric.upMiddles[arc];
+            if(middleAirport == -1) {
+                cost = cost + (down ? metric.downCosts[arc] : metric.upCosts[arc]);
+                path.append(airportCodes[down ? lowerAirport : higherAirport]).append(' ');
+            }
+            else if(down) {  // Higher airport to the middle one, then the middle one up to the lower airport
+                stackSize = push(stackSize, hierarchy.findArc(middleAirport, lowerAirport) * 2);
+                stackSize = push(stackSize, hierarchy.findArc(middleAirport, higherAirport) * 2 + 1);
+            }
+            else {  // Lower airport down to the middle one, then the middle one up to the higher airport
+                stackSize = push(stackSize, hierarchy.findArc(middleAirport, higherAirport) * 2);
+                stackSize = push(stackSize, hierarchy.findArc(middleAirport, lowerAirport) * 2 + 1);
+            }
+        }
+        path.append(String.format("%.5f", cost));
+        return path.toString();
+    }
+
+    private int push(int stackSize, int entry) {
+        if(stackSize == this.unpackStack.length) {
+            this.unpackStack = Arrays.copyOf(this.unpackStack, stackSize * 2);
+        }
+        this.unpackStack[stackSize] = entry;
+        return stackSize + 1;
+    }
+
+    // Dijkstra from the origin until the destination is settled, or until every reachable airport is settled if the destination is -1
+    // A* is used if a lower bound other than dijkstra is given. Returns whether the destination is reached.
+    // Costs and previous airports of the airports reached by the search are left in the workspace arrays, stamped with the current epoch
+    private boolean search(int airportOrigin, long timeOrigin, int airportDestination, CostLowerBound lowerBound) {
+        RouteNetwork network = this.graph.network;
+        WeatherTable weather = this.graph.weather;
+        int[] airportAirfields = this.graph.airportAirfields;
+        boolean directed = lowerBound != null && lowerBound.mode != CostLowerBound.Mode.DIJKSTRA;  // Order the airports by cost plus lower bound to the destination (A*)
+
+        startEpoch(network.airportCount);
+        double[] costs = this.costs;
+        int[] previousAirports = this.previousAirports;
+        int[] costStamps = this.costStamps;
+        int[] settledStamps = this.settledStamps;
+        int epoch = this.epoch;
+        IndexedMinHeap minHeap = this.minHeap;
+        minHeap.reset(network.airportCount);
+
+        costs[airportOrigin] = 0;
+        previousAirports[airportOrigin] = -1;
+        costStamps[airportOrigin] = epoch;
+        minHeap.add(airportOrigin, 0);
+
+        // Counted locally and added to the counters once the search ends
+        long settledCount = 0;
+        long heapPushCount = 1;
+        int maxHeapSize = 0;
+
+        boolean reached = false;
+        while(!minHeap.isEmpty()) {
+            if(minHeap.size() > maxHeapSize) {
+                maxHeapSize = minHeap.size();
+            }
+            // An airport is in the heap once, so every poll settles it
+            int minDistanceAirport = minHeap.poll();
+            settledStamps[minDistanceAirport] = epoch;
+            settledCount++;
+
+            // If the target airport is reached terminate the search
+            if(minDistanceAirport == airportDestination) {
+                reached = true;
+                break;
+            }
+
+            double minDistanceCost = costs[minDistanceAirport];
+            double departedWeatherMultiplier = weather.getMultiplier(airportAirfields[minDistanceAirport], timeOrigin);
+            for(int edge = network.edgeOffsets[minDistanceAirport]; edge < network.edgeOffsets[minDistanceAirport + 1]; edge++) {
+                int neighborAirport = network.edgeTargets[edge];
+                if(settledStamps[neighborAirport] == epoch) {
+                    continue;
+                }
+
+                // Calculate the edge weight connecting nodes minDistanceAirport and neighborAirport
+                double landingWeatherMultiplier = weather.getMultiplier(airportAirfields[neighborAirport], timeOrigin);
+                double edgeCost = Airport.calculateFlightCost(departedWeatherMultiplier, landingWeatherMultiplier, network.edgeDistances[edge]);
+
+                // If the neighbor airport can be visited with a less flight cost, update the previous airport and cost,
+                // and move it up in the heap if it is already there
+                boolean neighborReached = costStamps[neighborAirport] == epoch;
+                if(!neighborReached || minDistanceCost + edgeCost < costs[neighborAirport]) {
+                    costs[neighborAirport] = minDistanceCost + edgeCost;
+                    previousAirports[neighborAirport] = minDistanceAirport;
+                    costStamps[neighborAirport] = epoch;
+                    double priority = directed ? costs[neighborAirport] + lowerBound.estimate(neighborAirport, airportDestination) : costs[neighborAirport];
+                    if(neighborReached) {
+                        minHeap.decreasePriority(neighborAirport, priority);
+                    }
+                    else {
+                        minHeap.add(neighborAirport, priority);
+                        heapPushCount++;
+                    }
+                }
+            }
+        }
+
+        this.counters.settledCount += settledCount;
+        this.counters.heapPushCount += heapPushCount;
+        this.counters.heapPollCount += settledCount;
+        this.counters.maxHeapSize = Math.max(this.counters.maxHeapSize, maxHeapSize);
+        return reached;
+    }
+
+    // Start a new search epoch, which invalidates the stamped entries of the previous searches. The stamps are cleared only
+    // when the arrays grow or the epoch wraps around
+    private void startEpoch(int airportCount) {
+        if(this.costStamps.length < airportCount) {
+            this.costs = new double[airportCount];
+            this.previousAirports = new int[airportCount];
+            this.costStamps = new int[airportCount];
+            this.settledStamps = new int[airportCount];
+            this.epoch = 0;
+        }
+        if(this.epoch == Integer.MAX_VALUE) {
+            Arrays.fill(this.costStamps, 0);
+            Arrays.fill(this.settledStamps, 0);
+            this.epoch = 0;
+        }
+        this.epoch++;
+    }
+}
@@ -0,0 +1,27 @@
+// Pareto frontier of the task 2 itineraries of an origin, time origin, destination and plane, found by "Task2Search.findFrontier".
+// Every itinerary arrives earlier and costs more than the previous one, so a cheaper itinerary always arrives later
+public class Task2Frontier {
+    public final long[] arrivalTimes;  // Decreasing
+    public final double[] costs;  // Increasing
+    public final String[] paths;  // Paths in the format of the task 2 output
+
+    public Task2Frontier(long[] arrivalTimes, double[] costs, String[] paths) {
+        this.arrivalTimes = arrivalTimes;
+        this.costs = costs;
+        this.paths = paths;
+    }
+
+    public int size() {
+        return this.paths.length;
+    }
+
+    // Get the least cost path arriving before the deadline, the deadline should not be after the maximum deadline of the search
+    public String getPath(long deadline) {
+        for(int i = 0; i < this.paths.length; i++) {
+            if(this.arrivalTimes[i] <= deadline) {
+                return this.paths[i];
+            }
+        }
+        return "No possible solution.";
+    }
+}
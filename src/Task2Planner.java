@@ -0,0 +1,110 @@
+// Plan Task 2 of a batch of missions, either with a heap based search per mission, with a backward sweep per destination
+// or with a Pareto frontier search per origin and destination. Missions with the same destination, deadline and plane are grouped,
+// so that a sweep answers all of them, and missions differing only in their deadline are grouped so that a frontier answers all of them
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+public class Task2Planner {
+    public enum Engine {
+        DIJKSTRA,  // Heap based search for every mission
+        SWEEP,  // Backward sweep for every group of missions
+        AUTO,  // Backward sweep for groups of at least two missions, heap based search for single missions
+        FRONTIER  // Pareto frontier search for every group of missions differing only in their deadline
+    }
+
+    private final MyGraph graph;
+    public final Engine engine;
+
+    public Task2Planner(MyGraph graph, Engine engine) {
+        this.graph = graph;
+        this.engine = engine;
+    }
+
+    // Group the indices of the missions by destination, deadline and plane, or by origin, time origin, destination and plane for the frontier search.
+    // Groups are in the order of their first mission. Every mission is a group of its own for the heap based search
+    public List<int[]> groupMissions(List<Mission> missions) {
+        ArrayList<int[]> result = new ArrayList<>();
+        if(this.engine == Engine.DIJKSTRA) {
+            for(int i = 0; i < missions.size(); i++) {
+                result.add(new int[] {i});
+            }
+            return result;
+        }
+        LinkedHashMap<String, ArrayList<Integer>> groups = new LinkedHashMap<>();
+        for(int i = 0; i < missions.size(); i++) {
+            Mission mission = missions.get(i);
+            String key = this.engine == Engine.FRONTIER ? mission.airportOrigin + " " + mission.timeOrigin + " " + mission.airportDestination + " " + mission.plane.model
+                    : mission.airportDestination + " " + mission.deadline + " " + mission.plane.model;
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+        for(ArrayList<Integer> group : groups.values()) {
+            result.add(group.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return result;
+    }
+
+    // Solve task 2 of a group of missions, results are stored at the mission indices
+    public void solveGroup(List<Mission> missions, int[] group, String[] task2Results, SearchWorkspace workspace) {
+        if(this.engine == Engine.FRONTIER) {
+            solveFrontierGroup(missions, group, task2Results, workspace);
+            return;
+        }
+        WeatherTable weather = this.graph.weather;
+        boolean sweep = this.engine == Engine.SWEEP || (this.engine == Engine.AUTO && group.length >= 2);
+
+        int firstSlot = Integer.MAX_VALUE;
+        for(int missionIndex : group) {
+            Mission mission = missions.get(missionIndex);
+            if(!sweep || !isSweepable(mission)) {
+                task2Results[missionIndex] = this.graph.findShortestPathTask2(mission.airportOrigin, mission.timeOrigin, mission.airportDestination, mission.deadline, mission.plane, workspace);
+                continue;
+            }
+            firstSlot = Math.min(firstSlot, weather.getSlot(mission.timeOrigin));
+        }
+        if(firstSlot == Integer.MAX_VALUE) {
+            return;
+        }
+
+        Mission firstMission = missions.get(group[0]);
+        workspace.task2Sweep.sweep(this.graph.getTimeExpandedNetwork(firstMission.plane), firstMission.airportDestination, firstMission.deadline, firstSlot);
+        for(int missionIndex : group) {
+            Mission mission = missions.get(missionIndex);
+            if(isSweepable(mission)) {
+                task2Results[missionIndex] = workspace.task2Sweep.getPath(mission.airportOrigin, weather.getSlot(mission.timeOrigin));
+            }
+        }
+    }
+
+    // Solve a group of missions sharing origin, time origin, destination and plane with one frontier search up to their latest deadline,
+    // every mission takes the least cost itinerary of the frontier which arrives before its own deadline
+    private void solveFrontierGroup(List<Mission> missions, int[] group, String[] task2Results, SearchWorkspace workspace) {
+        long maxDeadline = Long.MIN_VALUE;
+        for(int missionIndex : group) {
+            Mission mission = missions.get(missionIndex);
+            if(!isSweepable(mission)) {
+                task2Results[missionIndex] = this.graph.findShortestPathTask2(mission.airportOrigin, mission.timeOrigin, mission.airportDestination, mission.deadline, mission.plane, workspace);
+                continue;
+            }
+            maxDeadline = Math.max(maxDeadline, mission.deadline);
+        }
+        if(maxDeadline == Long.MIN_VALUE) {
+            return;
+        }
+
+        Mission firstMission = missions.get(group[0]);
+        Task2Frontier frontier = this.graph.findFrontierTask2(firstMission.airportOrigin, firstMission.timeOrigin, firstMission.airportDestination, maxDeadline, firstMission.plane, workspace);
+        for(int missionIndex : group) {
+            Mission mission = missions.get(missionIndex);
+            if(isSweepable(mission)) {
+                task2Results[missionIndex] = frontier.getPath(mission.deadline);
+            }
+        }
+    }
+
+    // Missions starting off the weather grid, at their destination or after their deadline are left to the heap based search,
+    // which reports them the same way for every engine
+    private boolean isSweepable(Mission mission) {
+        return this.graph.weather.getSlot(mission.timeOrigin) != -1 && mission.airportOrigin != mission.airportDestination && mission.deadline >= mission.timeOrigin;
+    }
+}
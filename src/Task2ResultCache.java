@@ -0,0 +1,175 @@
+// Bounded least recently used cache of the Task 2 answers of the server, keyed by the mission and plane, shared by the worker threads.
+// Every answer keeps the (airfield, slot) weather pairs its flights use, and the answers are indexed by every slot their mission can fly in,
+// so that a weather change only visits the answers of its slot
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+public class Task2ResultCache {
+    public static final long DEFAULT_CACHE_BYTES = 16L << 20;
+
+    private static class CachedAnswer {
+        String answer;
+        int airportDestination;
+        Plane plane;
+        int originSlot;
+        int lastSlot;  // Last weather slot which is not after the deadline
+        long[] weatherKeys;  // Airfield and slot pairs of the weather the flights of the answer use
+        long bytes;
+    }
+
+    private final MyGraph graph;
+    private final long maxBytes;
+    private long usedBytes;
+
+    private final LinkedHashMap<String, CachedAnswer> answers;
+    private final HashMap<Integer, HashSet<String>> slotKeys;  // Keys of the cached answers which can fly at every slot
+
+    // Keep answers up to about maxBytes, nothing is cached if it is 0
+    public Task2ResultCache(MyGraph graph, long maxBytes) {
+        this.graph = graph;
+        this.maxBytes = maxBytes;
+        this.answers = new LinkedHashMap<>(16, 0.75f, true);
+        this.slotKeys = new HashMap<>();
+    }
+
+    // Get the cached answer of a mission, null if it is not cached
+    public synchronized String get(int airportOrigin, long timeOrigin, int airportDestination, long deadline, Plane plane) {
+        CachedAnswer cachedAnswer = this.answers.get(toKey(airportOrigin, timeOrigin, airportDestination, deadline, plane));
+        return cachedAnswer == null ? null : cachedAnswer.answer;
+    }
+
+    // Cache the answer of a mission starting on the weather grid, other missions are not cached
+    public synchronized void put(int airportOrigin, long timeOrigin, int airportDestination, long deadline, Plane plane, String answer) {
+        WeatherTable weather = this.graph.weather;
+        int originSlot = weather.getSlot(timeOrigin);
+        if(this.maxBytes == 0 || originSlot == -1 || deadline < timeOrigin) {
+            return;
+        }
+        String key = toKey(airportOrigin, timeOrigin, airportDestination, deadline, plane);
+        remove(key);
+
+        CachedAnswer cachedAnswer = new CachedAnswer();
+        cachedAnswer.answer = answer;
+        cachedAnswer.airportDestination = airportDestination;
+        cachedAnswer.plane = plane;
+        cachedAnswer.originSlot = originSlot;
+        cachedAnswer.lastSlot = (int) Math.min(weather.slotCount - 1, originSlot + (deadline - timeOrigin) / WeatherTable.SLOT_LENGTH);
+        cachedAnswer.weatherKeys = getWeatherKeys(answer, originSlot, plane);
+        cachedAnswer.bytes = 96 + 2L * (key.length() + answer.length()) + 8L * cachedAnswer.weatherKeys.length + 48L * (cachedAnswer.lastSlot - originSlot + 1);
+        this.answers.put(key, cachedAnswer);
+        for(int slot = originSlot; slot <= cachedAnswer.lastSlot; slot++) {
+            this.slotKeys.computeIfAbsent(slot, k -> new HashSet<>()).add(key);
+        }
+        this.usedBytes += cachedAnswer.bytes;
+
+        Iterator<String> eldestKeys = this.answers.keySet().iterator();
+        while(this.usedBytes > this.maxBytes && eldestKeys.hasNext()) {
+            String eldestKey = eldestKeys.next();
+            CachedAnswer eldest = this.answers.get(eldestKey);
+            eldestKeys.remove();
+            removeSlotKeys(eldestKey, eldest);
+        }
+    }
+
+    // Drop the cached answers which can be changed by new weather of an airfield at a slot and return how many are dropped.
+    // A more expensive weather only changes the answers whose flights use it. A cheaper one can give a cheaper path to every answer
+    // which can be at one of the airports of the airfield at that slot and still reach its destination before the deadline.
+    // Weather does not change which airports can be reached, so answers without a solution are kept
+    public synchronized int invalidateWeather(int airfieldId, int slot, int[] airports, double previousMultiplier, double multiplier) {
+        HashSet<String> keys = this.slotKeys.get(slot);
+        if(keys == null || previousMultiplier == multiplier) {
+            return 0;
+        }
+        long weatherKey = toWeatherKey(airfieldId, slot);
+        ArrayList<String> staleKeys = new ArrayList<>();
+        for(String key : keys) {
+            CachedAnswer cachedAnswer = this.answers.get(key);
+            if(cachedAnswer.answer.equals("No possible solution.")) {
+                continue;
+            }
+            boolean stale = false;
+            if(multiplier > previousMultiplier) {
+                for(long usedKey : cachedAnswer.weatherKeys) {
+                    stale |= usedKey == weatherKey;
+                }
+            }
+            else {
+                int[] minimumSlots = this.graph.getTimeExpandedNetwork(cachedAnswer.plane).getMinimumSlotsTo(cachedAnswer.airportDestination);
+                for(int airport : airports) {
+                    stale |= slot + (long) minimumSlots[airport] <= cachedAnswer.lastSlot;
+                }
+            }
+            if(stale) {
+                staleKeys.add(key);
+            }
+        }
+        for(String key : staleKeys) {
+            remove(key);
+        }
+        return staleKeys.size();
+    }
+
+    public synchronized int size() {
+        return this.answers.size();
+    }
+
+    private void remove(String key) {
+        CachedAnswer cachedAnswer = this.answers.remove(key);
+        if(cachedAnswer != null) {
+            removeSlotKeys(key, cachedAnswer);
+        }
+    }
+
+    private void removeSlotKeys(String key, CachedAnswer cachedAnswer) {
+        for(int slot = cachedAnswer.originSlot; slot <= cachedAnswer.lastSlot; slot++) {
+            HashSet<String> keys = this.slotKeys.get(slot);
+            keys.remove(key);
+            if(keys.isEmpty()) {
+                this.slotKeys.remove(slot);
+            }
+        }
+        this.usedBytes -= cachedAnswer.bytes;
+    }
+
+    // Follow the airports and PARK operations of an answer from the origin slot and collect the weather pairs of its flights
+    private long[] getWeatherKeys(String answer, int originSlot, Plane plane) {
+        if(answer.equals("No possible solution.")) {
+            return new long[0];
+        }
+        RouteNetwork network = this.graph.network;
+        int[] airportAirfields = this.graph.airportAirfields;
+        byte[] edgeDurationSlots = this.graph.getTimeExpandedNetwork(plane).edgeDurationSlots;
+        String[] operations = answer.split(" ");  // Airport codes and PARK operations followed by the total cost
+
+        ArrayList<Long> weatherKeys = new ArrayList<>();
+        int airport = network.getAirportId(operations[0]);
+        int slot = originSlot;
+        for(int i = 1; i < operations.length - 1; i++) {
+            if(operations[i].equals("PARK")) {
+                slot++;
+                continue;
+            }
+            int neighborAirport = network.getAirportId(operations[i]);
+            int edge = network.edgeOffsets[airport];
+            while(network.edgeTargets[edge] != neighborAirport) {
+                edge++;
+            }
+            weatherKeys.add(toWeatherKey(airportAirfields[airport], slot));
+            slot += edgeDurationSlots[edge];
+            weatherKeys.add(toWeatherKey(airportAirfields[neighborAirport], slot));
+            airport = neighborAirport;
+        }
+        return weatherKeys.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static String toKey(int airportOrigin, long timeOrigin, int airportDestination, long deadline, Plane plane) {
+        return airportOrigin + " " + timeOrigin + " " + airportDestination + " " + deadline + " " + plane.model;
+    }
+
+    private static long toWeatherKey(int airfieldId, int slot) {
+        return ((long) airfieldId << 32) | (slot & 0xffffffffL);
+    }
+}
@@ -0,0 +1,329 @@
+// Reusable workspace for Task 2 searches. Search labels are stored in primitive arrays that are kept between missions,
+// and the flight and park sequence is only rebuilt from the parent indices once the destination is reached
+import java.util.Arrays;
+
+public class Task2Search {
+    private final MyGraph graph;
+
+    // Label i means airportLabels[i] is reached at slotLabels[i] 6-hour slots after timeOrigin with costLabels[i], coming from label parentLabels[i]
+    private int[] airportLabels;
+    private int[] slotLabels;
+    private double[] costLabels;
+    private int[] parentLabels;
+    private int labelCount;
+
+    // Priority of every label in the heap, its cost plus the lower bound of the remaining cost in A* mode
+    private double[] priorityLabels;
+
+    // Binary min heap of label indices ordered by their priorities
+    private int[] minHeap;
+    private int heapSize;
+
+    // Labels on the path to the destination, filled while rebuilding the path
+    private int[] pathLabels;
+
+    // Destination labels of the Pareto frontier search, in increasing cost and decreasing arrival slot
+    private int[] frontierLabels;
+    private int frontierSize;
+
+    // Lower bound of every airport to the destination of the current mission, valid if its stamp equals the mission stamp
+    private double[] estimates;
+    private int[] estimateStamps;
+    private int missionStamp;
+
+    // Work done by the searches of this workspace
+    public final SearchCounters counters;
+
+    // Keep track of the least cost of a vertex - time pair
+    private final StateCostTable vertexTimeCostTable;
+
+    public Task2Search(MyGraph graph) {
+        this.graph = graph;
+
+        this.airportLabels = new int[1024];
+        this.slotLabels = new int[1024];
+        this.costLabels = new double[1024];
+        this.parentLabels = new int[1024];
+        this.priorityLabels = new double[1024];
+        this.minHeap = new int[1024];
+        this.pathLabels = new int[64];
+        this.frontierLabels = new int[16];
+        this.estimates = new double[0];
+        this.estimateStamps = new int[0];
+
+        this.vertexTimeCostTable = new StateCostTable();
+        this.counters = new SearchCounters();
+    }
+
+    // Find a sequence of successive possible flight and park operations starting from the airportOrigin at timeOrigin to reach the airportDestination before the deadline with the minimum total cost
+    public String findShortestPath(int airportOrigin, long timeOrigin, int airportDestination, long deadline, Plane plane) {
+        int destinationLabel = search(airportOrigin, timeOrigin, airportDestination, deadline, plane, false);
+        if(destinationLabel == -1) {
+            return "No possible solution.";
+        }
+        return buildPath(destinationLabel);
+    }
+
+    // Find the itineraries from the airportOrigin at timeOrigin to the airportDestination which no other itinerary beats in both arrival time and cost,
+    // arriving up to maxDeadline, in one search. The least cost itinerary of any deadline up to maxDeadline is read from the frontier
+    public Task2Frontier findFrontier(int airportOrigin, long timeOrigin, int airportDestination, long maxDeadline, Plane plane) {
+        this.frontierSize = 0;
+        search(airportOrigin, timeOrigin, airportDestination, maxDeadline, plane, true);
+
+        long[] arrivalTimes = new long[this.frontierSize];
+        double[] costs = new double[this.frontierSize];
+        String[] paths = new String[this.frontierSize];
+        for(int i = 0; i < this.frontierSize; i++) {
+            int label = this.frontierLabels[i];
+            arrivalTimes[i] = timeOrigin + this.slotLabels[label] * WeatherTable.SLOT_LENGTH;
+            costs[i] = this.costLabels[label];
+            paths[i] = buildPath(label);
+        }
+        return new Task2Frontier(arrivalTimes, costs, paths);
+    }
+
+    // Search the labels of a mission and return the label of the destination, -1 if it cannot be reached before the deadline.
+    // In frontier mode the search goes on after the destination is reached, the destination labels are kept in frontierLabels
+    // and only the states which can still arrive before the earliest arrival found so far are expanded
+    private int search(int airportOrigin, long timeOrigin, int airportDestination, long deadline, Plane plane, boolean frontier) {
+        RouteNetwork network = this.graph.network;
+        WeatherTable weather = this.graph.weather;
+        int[] airportAirfields = this.graph.airportAirfields;
+        CostLowerBound lowerBound = this.graph.lowerBound;
+        TimeExpandedNetwork expandedNetwork = this.graph.getTimeExpandedNetwork(plane);
+        byte[] edgeDurationSlots = expandedNetwork.edgeDurationSlots;  // Flight durations of the plane in slots
+        boolean directed = lowerBound.mode != CostLowerBound.Mode.DIJKSTRA;  // Order the labels by cost plus lower bound to the destination (A*)
+        if(directed) {
+            startEstimates(network.airportCount);
+        }
+
+        long window = deadline - timeOrigin;  // Time in seconds available for the mission
+        int originWeatherSlot = weather.getSlot(timeOrigin);
+        if(originWeatherSlot == -1 && airportOrigin != airportDestination && window >= 0) {
+            throw new IllegalStateException("Mission time " + timeOrigin + " is not a weather slot, weather is reported every " + WeatherTable.SLOT_LENGTH + " seconds from " + weather.firstSlotTime);
+        }
+
+        // States from which the flights to the destination take more slots than the deadline leaves can never arrive in time,
+        // so they are dropped before they are added to the heap. A mission whose origin is such a state has no solution
+        int[] minimumSlots = expandedNetwork.getMinimumSlotsTo(airportDestination);
+        long maxSlot = window < 0 ? -1 : window / WeatherTable.SLOT_LENGTH;  // Last slot after timeOrigin which is not after the deadline
+        if(airportOrigin != airportDestination && minimumSlots[airportOrigin] > maxSlot) {
+            this.counters.deadlineRejectedCount++;
+            return -1;
+        }
+
+        this.vertexTimeCostTable.reset(network.airportCount, window < 0 ? 0 : (int) (window / WeatherTable.SLOT_LENGTH) + 1);
+        this.labelCount = 0;
+        this.heapSize = 0;
+        push(addLabel(airportOrigin, 0, 0, -1, 0));
+
+        // Counted locally and added to the counters once the search ends
+        long settledCount = 0;
+        long heapPollCount = 0;
+        long costTablePrunedCount = 0;
+        long deadlineRejectedCount = 0;
+        long parkExpansionCount = 0;
+        int maxHeapSize = 0;
+
+        int destinationLabel = -1;
+        long arrivalLimit = maxSlot;  // Last slot at which reaching the destination is still useful
+        while(this.heapSize > 0) {
+            if(this.heapSize > maxHeapSize) {
+                maxHeapSize = this.heapSize;
+            }
+            int label = poll();
+            heapPollCount++;
+            int currentAirport = this.airportLabels[label];
+            int currentSlot = this.slotLabels[label];
+            double currentCost = this.costLabels[label];
+            if(currentSlot + (long) minimumSlots[currentAirport] > arrivalLimit) {  // Arrives too late, possible once the frontier has an earlier arrival
+                deadlineRejectedCount++;
+                continue;
+            }
+            settledCount++;
+
+            // If the target airport is reached store the label and end dijkstra
+            if(currentAirport == airportDestination) {
+                if(!frontier) {
+                    destinationLabel = label;
+                    break;
+                }
+                // Labels are polled in increasing cost, so the itineraries found later are only kept if they arrive earlier.
+                // An itinerary of the same cost as the last one arrives earlier and replaces it
+                if(this.frontierSize > 0 && this.costLabels[this.frontierLabels[this.frontierSize - 1]] == currentCost) {
+                    this.frontierSize--;
+                }
+                if(this.frontierSize == this.frontierLabels.length) {
+                    this.frontierLabels = Arrays.copyOf(this.frontierLabels, this.frontierSize * 2);
+                }
+                this.frontierLabels[this.frontierSize++] = label;
+                arrivalLimit = currentSlot - 1;
+                continue;
+            }
+
+            // Add the parking scenario of the current airport into minheap if it does not exceed the deadline
+            int parkedSlot = currentSlot + 1;
+            double parkedCost = currentCost + network.parkingCosts[currentAirport];
+            if(parkedSlot * WeatherTable.SLOT_LENGTH < window && parkedSlot + (long) minimumSlots[currentAirport] <= arrivalLimit) {
+                // If this vertex at this time is visited with a less cost currently, add it to minheap and update the min cost for this vertex-time pair
+                if(this.vertexTimeCostTable.get(currentAirport, parkedSlot) > parkedCost) {
+                    this.vertexTimeCostTable.put(currentAirport, parkedSlot, parkedCost);
+                    double priority = directed ? parkedCost + getEstimate(lowerBound, currentAirport, airportDestination) : parkedCost;
+                    push(addLabel(currentAirport, parkedSlot, parkedCost, label, priority));
+                    parkExpansionCount++;
+                }
+                else {
+                    costTablePrunedCount++;
+                }
+            }
+            else {
+                deadlineRejectedCount++;
+            }
+
+            double departedWeatherMultiplier = Double.NaN;  // Looked up once the first flight within the deadline is found
+            for(int edge = network.edgeOffsets[currentAirport]; edge < network.edgeOffsets[currentAirport + 1]; edge++) {
+                int neighborAirport = network.edgeTargets[edge];
+
+                // Calculate the edge weight connecting the current airport and neighborAirport
+                double distance = network.edgeDistances[edge];
+                int landingSlot = currentSlot + edgeDurationSlots[edge];
+                if(landingSlot + (long) minimumSlots[neighborAirport] > arrivalLimit) {  // This flight cannot reach the destination before the deadline so ignore it
+                    deadlineRejectedCount++;
+                    continue;
+                }
+                if(Double.isNaN(departedWeatherMultiplier)) {
+                    departedWeatherMultiplier = weather.getMultiplierAtSlot(airportAirfields[currentAirport], originWeatherSlot + currentSlot);
+                }
+                double landingWeatherMultiplier = weather.getMultiplierAtSlot(airportAirfields[neighborAirport], originWeatherSlot + landingSlot);
+                double landingCost = currentCost + Airport.calculateFlightCost(departedWeatherMultiplier, landingWeatherMultiplier, distance);
+
+                // If the neighbor airport can be visited at this time with a less flight cost, update the least cost and add it into minheap
+                if(this.vertexTimeCostTable.get(neighborAirport, landingSlot) < landingCost) {
+                    costTablePrunedCount++;
+                    continue;
+                }
+                this.vertexTimeCostTable.put(neighborAirport, landingSlot, landingCost);
+                double priority = directed ? landingCost + getEstimate(lowerBound, neighborAirport, airportDestination) : landingCost;
+                push(addLabel(neighborAirport, landingSlot, landingCost, label, priority));
+            }
+        }
+
+        this.counters.settledCount += settledCount;
+        this.counters.heapPushCount += this.labelCount;  // Every label is pushed once
+        this.counters.heapPollCount += heapPollCount;
+        this.counters.costTablePrunedCount += costTablePrunedCount;
+        this.counters.deadlineRejectedCount += deadlineRejectedCount;
+        this.counters.parkExpansionCount += parkExpansionCount;
+        this.counters.maxHeapSize = Math.max(this.counters.maxHeapSize, maxHeapSize);
+        return destinationLabel;
+    }
+
+    // Walk back from the destination label and write the airport codes of the path, PARK for parking operations, followed by the total cost
+    private String buildPath(int destinationLabel) {
+        int pathLength = 0;
+        for(int label = destinationLabel; label != -1; label = this.parentLabels[label]) {
+            if(pathLength == this.pathLabels.length) {
+                this.pathLabels = Arrays.copyOf(this.pathLabels, pathLength * 2);
+            }
+            this.pathLabels[pathLength++] = label;
+        }
+
+        String[] airportCodes = this.graph.network.airportCodes;
+        StringBuilder path = new StringBuilder();
+        for(int i = pathLength - 1; i >= 0; i--) {
+            int label = this.pathLabels[i];
+            int parentLabel = this.parentLabels[label];
+            if(parentLabel != -1 && this.airportLabels[parentLabel] == this.airportLabels[label]) {
+                path.append("PARK ");
+            }
+            else {
+                path.append(airportCodes[this.airportLabels[label]]).append(' ');
+            }
+        }
+        path.append(String.format("%.5f", this.costLabels[destinationLabel]));
+        return path.toString();
+    }
+
+    // Start a new mission for the cached lower bounds, so that no estimate of the previous mission is used
+    private void startEstimates(int airportCount) {
+        if(this.estimates.length < airportCount) {
+            this.estimates = new double[airportCount];
+            this.estimateStamps = new int[airportCount];
+            this.missionStamp = 0;
+        }
+        this.missionStamp++;
+        if(this.missionStamp == Integer.MAX_VALUE) {
+            Arrays.fill(this.estimateStamps, 0);
+            this.missionStamp = 1;
+        }
+    }
+
+    private double getEstimate(CostLowerBound lowerBound, int airport, int airportDestination) {
+        if(this.estimateStamps[airport] != this.missionStamp) {
+            this.estimates[airport] = lowerBound.estimate(airport, airportDestination);
+            this.estimateStamps[airport] = this.missionStamp;
+        }
+        return this.estimates[airport];
+    }
+
+    private int addLabel(int airport, int slot, double cost, int parentLabel, double priority) {
+        if(this.labelCount == this.airportLabels.length) {
+            int capacity = this.labelCount * 2;
+            this.airportLabels = Arrays.copyOf(this.airportLabels, capacity);
+            this.slotLabels = Arrays.copyOf(this.slotLabels, capacity);
+            this.costLabels = Arrays.copyOf(this.costLabels, capacity);
+            this.parentLabels = Arrays.copyOf(this.parentLabels, capacity);
+            this.priorityLabels = Arrays.copyOf(this.priorityLabels, capacity);
+        }
+        this.airportLabels[this.labelCount] = airport;
+        this.slotLabels[this.labelCount] = slot;
+        this.costLabels[this.labelCount] = cost;
+        this.parentLabels[this.labelCount] = parentLabel;
+        this.priorityLabels[this.labelCount] = priority;
+        return this.labelCount++;
+    }
+
+    // Heap operations follow java.util.PriorityQueue so that labels with equal costs are polled in the same order
+    private void push(int label) {
+        if(this.heapSize == this.minHeap.length) {
+            this.minHeap = Arrays.copyOf(this.minHeap, this.heapSize * 2);
+        }
+        double priority = this.priorityLabels[label];
+        int k = this.heapSize++;
+        while(k > 0) {
+            int parent = (k - 1) >>> 1;
+            int parentLabel = this.minHeap[parent];
+            if(priority >= this.priorityLabels[parentLabel]) {
+                break;
+            }
+            this.minHeap[k] = parentLabel;
+            k = parent;
+        }
+        this.minHeap[k] = label;
+    }
+
+    private int poll() {
+        int result = this.minHeap[0];
+        int n = --this.heapSize;
+        if(n > 0) {
+            int label = this.minHeap[n];
+            double priority = this.priorityLabels[label];
+            int k = 0;
+            int half = n >>> 1;
+            while(k < half) {
+                int child = (k << 1) + 1;
+                int right = child + 1;
+                if(right < n && this.priorityLabels[this.minHeap[child]] > this.priorityLabels[this.minHeap[right]]) {
+                    child = right;
+                }
+                if(priority <= this.priorityLabels[this.minHeap[child]]) {
+                    break;
+                }
+                this.minHeap[k] = this.minHeap[child];
+                k = child;
+            }
+            this.minHeap[k] = label;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,147 @@
+// Workspace for Task 2 missions solved with a backward dynamic program over the "TimeExpandedNetwork" instead of a heap.
+// A sweep for a destination and deadline finds the least cost to reach the destination from every airport at every slot from firstSlot on,
+// so every mission sharing the destination, deadline and plane is answered from the same sweep
+public class Task2Sweep {
+    private static final int PARK = -1;  // Next moves other than an edge index
+    private static final int ARRIVED = -2;
+    private static final int NONE = -3;
+
+    private final MyGraph graph;
+
+    // Least cost to the destination and next move of airport a at slot t, stored at index (t - firstSlot) * airportCount + a
+    private double[] costsToDestination;
+    private int[] nextMoves;
+
+    // Destination, deadline and slots of the last sweep
+    private TimeExpandedNetwork expandedNetwork;
+    private int airportDestination;
+    private int firstSlot;
+    private int lastSlot;
+
+    // Work done by the sweeps of this workspace, settledCount is the number of states whose least cost is calculated
+    public final SearchCounters counters;
+
+    public Task2Sweep(MyGraph graph) {
+        this.graph = graph;
+        this.costsToDestination = new double[0];
+        this.nextMoves = new int[0];
+        this.counters = new SearchCounters();
+    }
+
+    // Calculate the least costs to the destination before the deadline from every airport at every slot from firstSlot on, slots are weather slots.
+    // The layers are calculated from the last slot before the deadline backwards, as every flight and parking operation leads to a later slot.
+    // Flights needing weather which is not reported are skipped
+    public void sweep(TimeExpandedNetwork expandedNetwork, int airportDestination, long deadline, int firstSlot) {
+        RouteNetwork network = this.graph.network;
+        WeatherTable weather = this.graph.weather;
+        int[] airportAirfields = this.graph.airportAirfields;
+        int airportCount = network.airportCount;
+
+        this.expandedNetwork = expandedNetwork;
+        this.airportDestination = airportDestination;
+        this.firstSlot = firstSlot;
+        this.lastSlot = (int) Math.floorDiv(deadline - weather.firstSlotTime, WeatherTable.SLOT_LENGTH);  // Last slot which is not after the deadline
+        if(this.lastSlot < firstSlot) {
+            return;
+        }
+        long stateCount = (long) (this.lastSlot - firstSlot + 1) * airportCount;
+        if(stateCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Time-expanded network of " + stateCount + " states is too large for a sweep");
+        }
+        if(this.costsToDestination.length < stateCount) {
+            this.costsToDestination = new double[(int) stateCount];
+            this.nextMoves = new int[(int) stateCount];
+        }
+
+        for(int slot = this.lastSlot; slot >= firstSlot; slot--) {
+            int layer = (slot - firstSlot) * airportCount;
+            long slotTime = weather.getSlotTime(slot);
+            boolean parkable = slotTime + WeatherTable.SLOT_LENGTH < deadline;  // Same rule as the heap based search, parking never ends on the deadline
+            int maxFlightSlots = (int) Math.min(expandedNetwork.maxDurationSlots, (deadline - slotTime) / WeatherTable.SLOT_LENGTH);
+
+            for(int airport = 0; airport < airportCount; airport++) {
+                if(airport == airportDestination) {
+                    this.costsToDestination[layer + airport] = 0;
+                    this.nextMoves[layer + airport] = ARRIVED;
+                    continue;
+                }
+
+                double leastCost = Double.POSITIVE_INFINITY;
+                int nextMove = NONE;
+                if(parkable) {
+                    double parkedCost = network.parkingCosts[airport] + this.costsToDestination[layer + airportCount + airport];
+                    if(parkedCost < leastCost) {
+                        leastCost = parkedCost;
+                        nextMove = PARK;
+                    }
+                }
+
+                double departedWeatherMultiplier = maxFlightSlots > 0 ? weather.getMultiplierOrNaN(airportAirfields[airport], slot) : Double.NaN;
+                if(!Double.isNaN(departedWeatherMultiplier)) {
+                    for(int edge = network.edgeOffsets[airport]; edge < network.edgeOffsets[airport + 1]; edge++) {
+                        int durationSlots = expandedNetwork.edgeDurationSlots[edge];
+                        if(durationSlots > maxFlightSlots) {  // This flight exceeds deadline so ignore it
+                            continue;
+                        }
+                        int neighborAirport = network.edgeTargets[edge];
+                        double neighborCost = this.costsToDestination[layer + durationSlots * airportCount + neighborAirport];
+                        if(neighborCost == Double.POSITIVE_INFINITY) {
+                            continue;
+                        }
+                        double landingWeatherMultiplier = weather.getMultiplierOrNaN(airportAirfields[neighborAirport], slot + durationSlots);
+                        if(Double.isNaN(landingWeatherMultiplier)) {
+                            continue;
+                        }
+                        double flightCost = Airport.calculateFlightCost(departedWeatherMultiplier, landingWeatherMultiplier, network.edgeDistances[edge]) + neighborCost;
+                        if(flightCost < leastCost) {
+                            leastCost = flightCost;
+                            nextMove = edge;
+                        }
+                    }
+                }
+                this.costsToDestination[layer + airport] = leastCost;
+                this.nextMoves[layer + airport] = nextMove;
+            }
+        }
+        this.counters.settledCount += stateCount;
+    }
+
+    // Get the path of the last sweep from an airport at a weather slot, in the format of the heap based search. The total cost is summed
+    // from the origin on like the heap based search does, so that the same path gives the same cost
+    public String getPath(int airportOrigin, int slot) {
+        if(slot < this.firstSlot || slot > this.lastSlot) {
+            return "No possible solution.";
+        }
+        RouteNetwork network = this.graph.network;
+        WeatherTable weather = this.graph.weather;
+        int[] airportAirfields = this.graph.airportAirfields;
+        int airportCount = network.airportCount;
+        if(this.costsToDestination[(slot - this.firstSlot) * airportCount + airportOrigin] == Double.POSITIVE_INFINITY) {
+            return "No possible solution.";
+        }
+
+        StringBuilder path = new StringBuilder();
+        path.append(network.airportCodes[airportOrigin]).append(' ');
+        double cost = 0;
+        int airport = airportOrigin;
+        while(airport != this.airportDestination) {
+            int nextMove = this.nextMoves[(slot - this.firstSlot) * airportCount + airport];
+            if(nextMove == PARK) {
+                cost = cost + network.parkingCosts[airport];
+                slot++;
+                path.append("PARK ");
+                continue;
+            }
+            int neighborAirport = network.edgeTargets[nextMove];
+            int landingSlot = slot + this.expandedNetwork.edgeDurationSlots[nextMove];
+            double departedWeatherMultiplier = weather.getMultiplierAtSlot(airportAirfields[airport], slot);
+            double landingWeatherMultiplier = weather.getMultiplierAtSlot(airportAirfields[neighborAirport], landingSlot);
+            cost = cost + Airport.calculateFlightCost(departedWeatherMultiplier, landingWeatherMultiplier, network.edgeDistances[nextMove]);
+            airport = neighborAirport;
+            slot = landingSlot;
+            path.append(network.airportCodes[airport]).append(' ');
+        }
+        path.append(String.format("%.5f", cost));
+        return path.toString();
+    }
+}
@@ -0,0 +1,96 @@
+// Route network of a plane model expanded over the 6-hour weather slots. A flight from airport a at slot t lands at slot t + edgeDurationSlots[e],
+// parking moves to slot t + 1, so the (airport, slot) states form layers ordered by slot with all moves going to later layers.
+// The flight durations are calculated once per plane model, so the searches do not evaluate the distance tiers of the plane for every flight
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TimeExpandedNetwork {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final long REACHABILITY_CACHE_BYTES = 16L << 20;
+
+    private final RouteNetwork network;
+    public final Plane plane;
+    public final byte[] edgeDurationSlots;  // Flight duration of every direction in slots, indexed like the edges of the "RouteNetwork"
+    public final int maxDurationSlots;
+
+    // Least slots to a destination from every airport, kept for the recently used destinations
+    private final LinkedHashMap<Integer, int[]> minimumSlotsToDestinations;
+    private final int reachabilityCacheCapacity;
+
+    public TimeExpandedNetwork(RouteNetwork network, Plane plane) {
+        this.network = network;
+        this.plane = plane;
+        this.edgeDurationSlots = new byte[network.getEdgeCount()];
+        int maxDurationSlots = 1;  // Parking takes one slot
+        for(int edge = 0; edge < this.edgeDurationSlots.length; edge++) {
+            this.edgeDurationSlots[edge] = (byte) plane.getDurationSlots(network.edgeDistances[edge]);
+            maxDurationSlots = Math.max(maxDurationSlots, this.edgeDurationSlots[edge]);
+        }
+        this.maxDurationSlots = maxDurationSlots;
+
+        this.reachabilityCacheCapacity = (int) Math.max(1, REACHABILITY_CACHE_BYTES / (4L * Math.max(1, network.airportCount)));
+        this.minimumSlotsToDestinations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest) {
+                return size() > TimeExpandedNetwork.this.reachabilityCacheCapacity;
+            }
+        };
+    }
+
+    // Get the least number of slots the flights from every airport to the destination take, UNREACHABLE for the airports which cannot reach it.
+    // Parking only adds time, so a state at slot t cannot arrive before slot t + minimumSlots[airport]. The returned array should not be modified
+    public int[] getMinimumSlotsTo(int airportDestination) {
+        synchronized(this.minimumSlotsToDestinations) {
+            int[] minimumSlots = this.minimumSlotsToDestinations.get(airportDestination);
+            if(minimumSlots != null) {
+                return minimumSlots;
+            }
+        }
+        int[] minimumSlots = findMinimumSlotsTo(airportDestination);
+        synchronized(this.minimumSlotsToDestinations) {
+            this.minimumSlotsToDestinations.put(airportDestination, minimumSlots);
+        }
+        return minimumSlots;
+    }
+
+    // Dijkstra over the reversed directions with the flight durations as weights. Durations are at most maxDurationSlots,
+    // so the airports waiting to be settled are kept in one bucket per remaining slot count instead of a heap (Dial's algorithm)
+    private int[] findMinimumSlotsTo(int airportDestination) {
+        int[] minimumSlots = new int[this.network.airportCount];
+        Arrays.fill(minimumSlots, UNREACHABLE);
+        minimumSlots[airportDestination] = 0;
+
+        int bucketCount = this.maxDurationSlots + 1;
+        int[][] buckets = new int[bucketCount][16];
+        int[] bucketSizes = new int[bucketCount];
+        buckets[0][bucketSizes[0]++] = airportDestination;
+        int waitingCount = 1;
+        for(int slots = 0; waitingCount > 0; slots++) {
+            int bucket = slots % bucketCount;
+            // Airports added to this bucket while it is processed are at the same slot count, so the bucket is read until it is empty
+            for(int i = 0; i < bucketSizes[bucket]; i++) {
+                int airport = buckets[bucket][i];
+                waitingCount--;
+                if(minimumSlots[airport] != slots) {  // Settled with less slots before
+                    continue;
+                }
+                for(int reverseEdge = this.network.reverseEdgeOffsets[airport]; reverseEdge < this.network.reverseEdgeOffsets[airport + 1]; reverseEdge++) {
+                    int previousAirport = this.network.reverseEdgeSources[reverseEdge];
+                    int previousSlots = slots + this.edgeDurationSlots[this.network.reverseEdges[reverseEdge]];
+                    if(previousSlots < minimumSlots[previousAirport]) {
+                        minimumSlots[previousAirport] = previousSlots;
+                        int previousBucket = previousSlots % bucketCount;
+                        if(bucketSizes[previousBucket] == buckets[previousBucket].length) {
+                            buckets[previousBucket] = Arrays.copyOf(buckets[previousBucket], bucketSizes[previousBucket] * 2);
+                        }
+                        buckets[previousBucket][bucketSizes[previousBucket]++] = previousAirport;
+                        waitingCount++;
+                    }
+                }
+            }
+            bucketSizes[bucket] = 0;
+        }
+        return minimumSlots;
+    }
+}
@@ -0,0 +1,161 @@
+// Weather multipliers of every airfield stored in a dense array indexed by airfield id and 6-hour time slot
+import java.util.Arrays;
+import java.util.HashMap;
+
+public class WeatherTable {
+    public static final long SLOT_LENGTH = 21600;  // Weather is reported every 6 hours
+
+    // Multipliers of all 32 possible weatherCodes, calculated once
+    private static final double[] WEATHER_CODE_MULTIPLIERS = new double[32];
+
+    // Least multiplier any weatherCode can have, used for lower bounds of flight costs
+    public static final double MINIMUM_MULTIPLIER;
+
+    static {
+        double minimumMultiplier = Double.MAX_VALUE;
+        for(int weatherCode = 0; weatherCode < WEATHER_CODE_MULTIPLIERS.length; weatherCode++) {
+            WEATHER_CODE_MULTIPLIERS[weatherCode] = Airport.calculateWeatherMultiplier(weatherCode);
+            minimumMultiplier = Math.min(minimumMultiplier, WEATHER_CODE_MULTIPLIERS[weatherCode]);
+        }
+        MINIMUM_MULTIPLIER = minimumMultiplier;
+    }
+
+    public final String[] airfieldNames;
+    public final long firstSlotTime;  // Time in seconds of slot 0
+    public final int slotCount;
+
+    // Multiplier of airfield a at slot s is stored at index a * slotCount + s, NaN if it is not reported
+    private final double[] multipliers;
+
+    private final HashMap<String, Integer> airfieldIds;
+
+    public WeatherTable(String[] airfieldNames, long firstSlotTime, int slotCount, double[] multipliers) {
+        this.airfieldNames = airfieldNames;
+        this.firstSlotTime = firstSlotTime;
+        this.slotCount = slotCount;
+        this.multipliers = multipliers;
+
+        this.airfieldIds = new HashMap<>();
+        for(int airfield = 0; airfield < airfieldNames.length; airfield++) {
+            this.airfieldIds.put(airfieldNames[airfield], airfield);
+        }
+    }
+
+    // Build the table from weather rows, the first rowCount entries of the arrays are used. Airfields of the rows are given as ids of airfieldNames
+    public static WeatherTable fromRows(String[] airfieldNames, int[] rowAirfields, long[] rowTimes, int[] rowWeatherCodes, int rowCount) {
+        if(rowCount == 0) {
+            return new WeatherTable(airfieldNames, 0, 0, new double[0]);
+        }
+
+        long firstSlotTime = Long.MAX_VALUE;
+        long lastSlotTime = Long.MIN_VALUE;
+        for(int row = 0; row < rowCount; row++) {
+            firstSlotTime = Math.min(firstSlotTime, rowTimes[row]);
+            lastSlotTime = Math.max(lastSlotTime, rowTimes[row]);
+        }
+
+        int slotCount = (int) ((lastSlotTime - firstSlotTime) / SLOT_LENGTH) + 1;
+        double[] multipliers = new double[airfieldNames.length * slotCount];
+        Arrays.fill(multipliers, Double.NaN);
+
+        for(int row = 0; row < rowCount; row++) {
+            long offset = rowTimes[row] - firstSlotTime;
+            if(offset % SLOT_LENGTH != 0) {
+                throw new IllegalArgumentException("Weather time " + rowTimes[row] + " of airfield " + airfieldNames[rowAirfields[row]] + " is not on the 6-hour grid starting at " + firstSlotTime);
+            }
+            int weatherCode = rowWeatherCodes[row];
+            if(weatherCode < 0 || weatherCode >= WEATHER_CODE_MULTIPLIERS.length) {
+                throw new IllegalArgumentException("Unexpected weatherCode " + weatherCode + " of airfield " + airfieldNames[rowAirfields[row]] + " at time " + rowTimes[row]);
+            }
+            multipliers[rowAirfields[row] * slotCount + (int) (offset / SLOT_LENGTH)] = WEATHER_CODE_MULTIPLIERS[weatherCode];
+        }
+
+        return new WeatherTable(airfieldNames, firstSlotTime, slotCount, multipliers);
+    }
+
+    // Get the dense id of an airfield, -1 if there is no weather reported for it
+    public int getAirfieldId(String airfieldName) {
+        Integer airfieldId = this.airfieldIds.get(airfieldName);
+        return airfieldId == null ? -1 : airfieldId;
+    }
+
+    // Get the airfield ids of the given airfield names, -1 for the ones without weather
+    public int[] getAirfieldIds(String[] airfieldNames) {
+        int[] airfieldIds = new int[airfieldNames.length];
+        for(int i = 0; i < airfieldNames.length; i++) {
+            airfieldIds[i] = getAirfieldId(airfieldNames[i]);
+        }
+        return airfieldIds;
+    }
+
+    // Multipliers of all airfields and slots, NaN for the ones not reported. The returned array should not be modified
+    public double[] getMultipliers() {
+        return this.multipliers;
+    }
+
+    public int getAirfieldCount() {
+        return this.airfieldNames.length;
+    }
+
+    // Convert a time in seconds to its slot, -1 if the time is not on the weather grid
+    public int getSlot(long time) {
+        long offset = time - this.firstSlotTime;
+        if(offset < 0 || offset % SLOT_LENGTH != 0 || offset / SLOT_LENGTH >= this.slotCount) {
+            return -1;
+        }
+        return (int) (offset / SLOT_LENGTH);
+    }
+
+    public long getSlotTime(int slot) {
+        return this.firstSlotTime + slot * SLOT_LENGTH;
+    }
+
+    // Get the weatherMultiplier of an airfield at a given time in seconds
+    public double getMultiplier(int airfieldId, long time) {
+        long offset = time - this.firstSlotTime;
+        if(offset < 0 || offset % SLOT_LENGTH != 0 || offset / SLOT_LENGTH >= this.slotCount) {
+            throw new IllegalStateException("No weather slot at time " + time + ", weather is reported every " + SLOT_LENGTH + " seconds from " + this.firstSlotTime + " to " + getSlotTime(this.slotCount - 1));
+        }
+        return getMultiplierAtSlot(airfieldId, (int) (offset / SLOT_LENGTH));
+    }
+
+    // Get the weatherMultiplier of an airfield at a given slot, NaN if it is not reported instead of failing
+    public double getMultiplierOrNaN(int airfieldId, int slot) {
+        if(airfieldId < 0 || slot < 0 || slot >= this.slotCount) {
+            return Double.NaN;
+        }
+        return this.multipliers[airfieldId * this.slotCount + slot];
+    }
+
+    // Replace the weather of an airfield at a slot with a corrected weatherCode and return the previous multiplier, NaN if it was not reported.
+    // The table is shared by the searches, so it should only be changed while no search is running
+    public double setWeatherCode(int airfieldId, int slot, int weatherCode) {
+        if(airfieldId < 0 || airfieldId >= this.airfieldNames.length) {
+            throw new IllegalArgumentException("No weather is reported for this airfield");
+        }
+        if(slot < 0 || slot >= this.slotCount) {
+            throw new IllegalArgumentException("Weather slot " + slot + " is out of range [0, " + this.slotCount + ")");
+        }
+        if(weatherCode < 0 || weatherCode >= WEATHER_CODE_MULTIPLIERS.length) {
+            throw new IllegalArgumentException("Unexpected weatherCode " + weatherCode + " of airfield " + this.airfieldNames[airfieldId] + " at time " + getSlotTime(slot));
+        }
+        double previousMultiplier = this.multipliers[airfieldId * this.slotCount + slot];
+        this.multipliers[airfieldId * this.slotCount + slot] = WEATHER_CODE_MULTIPLIERS[weatherCode];
+        return previousMultiplier;
+    }
+
+    // Get the weatherMultiplier of an airfield at a given slot
+    public double getMultiplierAtSlot(int airfieldId, int slot) {
+        if(airfieldId < 0) {
+            throw new IllegalStateException("No weather is reported for this airfield");
+        }
+        if(slot < 0 || slot >= this.slotCount) {
+            throw new IllegalStateException("Weather slot " + slot + " is out of range [0, " + this.slotCount + ")");
+        }
+        double multiplier = this.multipliers[airfieldId * this.slotCount + slot];
+        if(Double.isNaN(multiplier)) {
+            throw new IllegalStateException("No weather is reported for airfield " + this.airfieldNames[airfieldId] + " at time " + getSlotTime(slot));
+        }
+        return multiplier;
+    }
+}